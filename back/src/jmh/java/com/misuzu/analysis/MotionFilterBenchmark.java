@@ -0,0 +1,147 @@
+package com.misuzu.analysis;
+
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Size;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC3;
+import static org.bytedeco.opencv.global.opencv_core.absdiff;
+import static org.bytedeco.opencv.global.opencv_core.minMaxLoc;
+import static org.bytedeco.opencv.global.opencv_imgproc.COLOR_BGR2GRAY;
+import static org.bytedeco.opencv.global.opencv_imgproc.INTER_AREA;
+import static org.bytedeco.opencv.global.opencv_imgproc.INTER_NEAREST;
+import static org.bytedeco.opencv.global.opencv_imgproc.cvtColor;
+import static org.bytedeco.opencv.global.opencv_imgproc.resize;
+
+/**
+ * 静止过滤基准测试
+ * 按轨迹分析中的调用方式，对处理分辨率（640x360）的BGR24帧逐帧调用MotionFilter.accept，
+ * 与相同计算（最近邻缩小、转灰度、差分、按网格求均值）的OpenCV调用以及被过滤掉的球体检测对比。
+ * 两帧内容相同、只差±3的噪声，过滤器不会提前结束，测得的是每帧的完整开销。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MotionFilterBenchmark {
+
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 360;
+    private static final int CELL_SIZE = 16;
+    private static final int SAMPLE_STEP = 4;
+    private static final int THRESHOLD = 10;
+
+    private final Frame[] frames = new Frame[2];
+    private final Mat[] mats = new Mat[2];
+    private int index;
+
+    private MotionFilter motionFilter;
+    private BallDetector ballDetector;
+
+    private Mat small;
+    private Mat gray;
+    private Mat previousGray;
+    private Mat diff;
+    private Mat cells;
+    private final double[] min = new double[1];
+    private final double[] max = new double[1];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        byte[] scene = new byte[WIDTH * HEIGHT * 3];
+        random.nextBytes(scene);
+        for (int f = 0; f < frames.length; f++) {
+            Frame frame = new Frame(WIDTH, HEIGHT, Frame.DEPTH_UBYTE, 3);
+            ByteBuffer buffer = (ByteBuffer) frame.image[0];
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH * 3; x++) {
+                    int value = (scene[y * WIDTH * 3 + x] & 0xFF) + random.nextInt(7) - 3;
+                    buffer.put(y * frame.imageStride + x, (byte) Math.max(0, Math.min(255, value)));
+                }
+            }
+            frames[f] = frame;
+            mats[f] = new Mat(HEIGHT, WIDTH, CV_8UC3, new BytePointer(buffer), frame.imageStride);
+        }
+
+        motionFilter = new MotionFilter(CELL_SIZE, SAMPLE_STEP, THRESHOLD, Long.MAX_VALUE);
+        ballDetector = new BallDetector(BallDetectorOptions.builder().build());
+        small = new Mat();
+        gray = new Mat();
+        previousGray = new Mat();
+        diff = new Mat();
+        cells = new Mat();
+        resize(mats[1], small, new Size(WIDTH / SAMPLE_STEP, HEIGHT / SAMPLE_STEP), 0, 0, INTER_NEAREST);
+        cvtColor(small, previousGray, COLOR_BGR2GRAY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ballDetector.close();
+        for (Mat mat : mats) {
+            mat.close();
+        }
+        small.close();
+        gray.close();
+        previousGray.close();
+        diff.close();
+        cells.close();
+        for (Frame frame : frames) {
+            frame.close();
+        }
+    }
+
+    private Frame nextFrame() {
+        Frame frame = frames[index++ & 1];
+        frame.timestamp += 40_000;
+        return frame;
+    }
+
+    @Benchmark
+    public boolean motionFilter() {
+        return motionFilter.accept(nextFrame());
+    }
+
+    @Benchmark
+    public boolean motionFilterOpenCv() {
+        Mat frame = mats[index++ & 1];
+        resize(frame, small, new Size(WIDTH / SAMPLE_STEP, HEIGHT / SAMPLE_STEP), 0, 0, INTER_NEAREST);
+        cvtColor(small, gray, COLOR_BGR2GRAY);
+        absdiff(gray, previousGray, diff);
+        // INTER_AREA整数倍缩小即为逐网格求均值
+        int cellSamples = CELL_SIZE / SAMPLE_STEP;
+        resize(diff, cells, new Size(diff.cols() / cellSamples, diff.rows() / cellSamples), 0, 0, INTER_AREA);
+        minMaxLoc(cells, min, max, null, null, null);
+        Mat swap = previousGray;
+        previousGray = gray;
+        gray = swap;
+        return max[0] >= THRESHOLD;
+    }
+
+    /**
+     * 静止帧被过滤后省下的球体检测开销
+     */
+    @Benchmark
+    public boolean ballDetector() {
+        return ballDetector.detect(nextFrame());
+    }
+}
@@ -0,0 +1,178 @@
+package com.misuzu.analysis;
+
+import org.bytedeco.javacpp.indexer.DoubleIndexer;
+import org.bytedeco.javacpp.indexer.IntIndexer;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.OpenCVFrameConverter;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.bytedeco.opencv.opencv_core.Size;
+import org.bytedeco.opencv.opencv_video.BackgroundSubtractorMOG2;
+
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC3;
+import static org.bytedeco.opencv.global.opencv_core.bitwise_and;
+import static org.bytedeco.opencv.global.opencv_core.bitwise_or;
+import static org.bytedeco.opencv.global.opencv_core.inRange;
+import static org.bytedeco.opencv.global.opencv_imgproc.CC_STAT_AREA;
+import static org.bytedeco.opencv.global.opencv_imgproc.CC_STAT_HEIGHT;
+import static org.bytedeco.opencv.global.opencv_imgproc.CC_STAT_WIDTH;
+import static org.bytedeco.opencv.global.opencv_imgproc.COLOR_BGR2HSV;
+import static org.bytedeco.opencv.global.opencv_imgproc.MORPH_ELLIPSE;
+import static org.bytedeco.opencv.global.opencv_imgproc.MORPH_OPEN;
+import static org.bytedeco.opencv.global.opencv_imgproc.connectedComponentsWithStats;
+import static org.bytedeco.opencv.global.opencv_imgproc.cvtColor;
+import static org.bytedeco.opencv.global.opencv_imgproc.getStructuringElement;
+import static org.bytedeco.opencv.global.opencv_imgproc.morphologyEx;
+import static org.bytedeco.opencv.global.opencv_video.createBackgroundSubtractorMOG2;
+
+/**
+ * 乒乓球检测器
+ * 对每帧做颜色/亮度阈值和背景差分，取最接近圆形的运动区域作为球的位置。
+ * 所有中间结果都保存在复用的本地Mat中，逐帧处理时不分配新的图像缓冲区。
+ * 检测器有状态（背景模型），不是线程安全的，每个解码线程应使用独立实例。
+ */
+public class BallDetector implements AutoCloseable {
+
+    /**
+     * 理想圆形区域面积与外接矩形面积之比（π/4）
+     */
+    private static final double CIRCLE_FILL_RATIO = Math.PI / 4;
+
+    private final BallDetectorOptions options;
+    private final OpenCVFrameConverter.ToMat converter = new OpenCVFrameConverter.ToMat();
+    private final BackgroundSubtractorMOG2 subtractor;
+
+    private final Mat colorLower;
+    private final Mat colorUpper;
+    private final Mat whiteLower;
+    private final Mat whiteUpper;
+    private final Mat kernel;
+
+    private final Mat hsv = new Mat();
+    private final Mat colorMask = new Mat();
+    private final Mat whiteMask = new Mat();
+    private final Mat foreground = new Mat();
+    private final Mat mask = new Mat();
+    private final Mat labels = new Mat();
+    private final Mat stats = new Mat();
+    private final Mat centroids = new Mat();
+
+    private float x;
+    private float y;
+    private float confidence;
+
+    public BallDetector(BallDetectorOptions options) {
+        this.options = options;
+        this.subtractor = createBackgroundSubtractorMOG2(
+                options.getBackgroundHistory(), options.getBackgroundVarThreshold(), false);
+
+        int[] lower = options.getColorLower();
+        int[] upper = options.getColorUpper();
+        this.colorLower = new Mat(1, 1, CV_8UC3, new Scalar(lower[0], lower[1], lower[2], 0));
+        this.colorUpper = new Mat(1, 1, CV_8UC3, new Scalar(upper[0], upper[1], upper[2], 0));
+        this.whiteLower = new Mat(1, 1, CV_8UC3, new Scalar(0, 0, options.getWhiteMinValue(), 0));
+        this.whiteUpper = new Mat(1, 1, CV_8UC3, new Scalar(180, options.getWhiteMaxSaturation(), 255, 0));
+        this.kernel = getStructuringElement(MORPH_ELLIPSE, new Size(3, 3));
+    }
+
+    /**
+     * 检测一帧中的球，结果通过getX/getY/getConfidence读取
+     *
+     * @param frame BGR24格式的图像帧，检测器不会修改其内容
+     * @return 检测到球时返回true
+     */
+    public boolean detect(Frame frame) {
+        Mat image = converter.convert(frame);
+        if (image == null) {
+            return false;
+        }
+
+        // 背景差分得到运动区域，颜色阈值得到橙色或白色区域，二者相交即为候选球体
+        subtractor.apply(image, foreground);
+        cvtColor(image, hsv, COLOR_BGR2HSV);
+        inRange(hsv, colorLower, colorUpper, colorMask);
+        inRange(hsv, whiteLower, whiteUpper, whiteMask);
+        bitwise_or(colorMask, whiteMask, mask);
+        bitwise_and(mask, foreground, mask);
+        morphologyEx(mask, mask, MORPH_OPEN, kernel);
+
+        return selectCandidate(connectedComponentsWithStats(mask, labels, stats, centroids));
+    }
+
+    /**
+     * 从连通区域中选出形状最接近圆形的候选区域
+     */
+    private boolean selectCandidate(int count) {
+        float bestScore = 0;
+        int best = -1;
+        try (IntIndexer stat = stats.createIndexer()) {
+            // 第0个连通区域是背景
+            for (int i = 1; i < count; i++) {
+                int area = stat.get(i, CC_STAT_AREA);
+                if (area < options.getMinArea() || area > options.getMaxArea()) {
+                    continue;
+                }
+                int width = stat.get(i, CC_STAT_WIDTH);
+                int height = stat.get(i, CC_STAT_HEIGHT);
+                float aspect = (float) Math.min(width, height) / Math.max(width, height);
+                double fill = (double) area / (width * height);
+                double roundness = Math.max(0, 1 - Math.abs(fill - CIRCLE_FILL_RATIO) / CIRCLE_FILL_RATIO);
+                float score = (float) (aspect * roundness);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+        }
+
+        if (best < 0 || bestScore < options.getMinConfidence()) {
+            confidence = 0;
+            return false;
+        }
+        try (DoubleIndexer centroid = centroids.createIndexer()) {
+            x = (float) centroid.get(best, 0);
+            y = (float) centroid.get(best, 1);
+        }
+        confidence = bestScore;
+        return true;
+    }
+
+    /**
+     * 最近一次检测到的球心横坐标（处理分辨率下的像素）
+     */
+    public float getX() {
+        return x;
+    }
+
+    /**
+     * 最近一次检测到的球心纵坐标（处理分辨率下的像素）
+     */
+    public float getY() {
+        return y;
+    }
+
+    /**
+     * 最近一次检测的置信度，未检测到时为0
+     */
+    public float getConfidence() {
+        return confidence;
+    }
+
+    @Override
+    public void close() {
+        subtractor.close();
+        colorLower.close();
+        colorUpper.close();
+        whiteLower.close();
+        whiteUpper.close();
+        kernel.close();
+        hsv.close();
+        colorMask.close();
+        whiteMask.close();
+        foreground.close();
+        mask.close();
+        labels.close();
+        stats.close();
+        centroids.close();
+    }
+}
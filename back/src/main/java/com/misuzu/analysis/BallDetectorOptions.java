@@ -0,0 +1,51 @@
+package com.misuzu.analysis;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 球体检测参数
+ * 颜色阈值使用OpenCV的HSV取值范围（H: 0-180，S/V: 0-255）
+ */
+@Getter
+@Builder
+public class BallDetectorOptions {
+
+    /**
+     * 橙色球的HSV下限和上限
+     */
+    @Builder.Default
+    private final int[] colorLower = {5, 120, 150};
+    @Builder.Default
+    private final int[] colorUpper = {25, 255, 255};
+
+    /**
+     * 白色球的最大饱和度和最小亮度
+     */
+    @Builder.Default
+    private final int whiteMaxSaturation = 40;
+    @Builder.Default
+    private final int whiteMinValue = 200;
+
+    /**
+     * 背景建模使用的历史帧数和方差阈值
+     */
+    @Builder.Default
+    private final int backgroundHistory = 120;
+    @Builder.Default
+    private final double backgroundVarThreshold = 25;
+
+    /**
+     * 候选区域面积范围（处理分辨率下的像素数）
+     */
+    @Builder.Default
+    private final int minArea = 4;
+    @Builder.Default
+    private final int maxArea = 400;
+
+    /**
+     * 低于该置信度的候选区域不输出
+     */
+    @Builder.Default
+    private final float minConfidence = 0.3f;
+}
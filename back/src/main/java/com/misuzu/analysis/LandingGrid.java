@@ -0,0 +1,90 @@
+package com.misuzu.analysis;
+
+/**
+ * 落点网格统计
+ * 在轨迹中寻找球的纵向速度由向下转为向上的位置（即触台反弹点），按画面位置计入网格。
+ * 目前没有球台标定，网格按整个画面划分。
+ */
+public final class LandingGrid {
+
+    /**
+     * 相邻轨迹点间隔超过该值时视为轨迹中断（毫秒）
+     */
+    private static final long MAX_GAP_MILLIS = 100;
+
+    /**
+     * 纵向位移小于画面高度的该比例时视为噪声
+     */
+    private static final float MIN_DY_RATIO = 0.002f;
+
+    private LandingGrid() {
+    }
+
+    /**
+     * 统计一个视频的落点分布
+     *
+     * @param trajectory 轨迹文件
+     * @param width 画面宽度（像素）
+     * @param height 画面高度（像素）
+     * @param columns 网格列数
+     * @param rows 网格行数
+     * @return 按行优先排列的落点计数，长度为columns * rows
+     */
+    public static int[] compute(TrajectoryFile trajectory, float width, float height, int columns, int rows) {
+        int[] counts = new int[columns * rows];
+        trajectory.scan(Long.MIN_VALUE, Long.MAX_VALUE, new BounceVisitor(counts, width, height, columns, rows));
+        return counts;
+    }
+
+    /**
+     * 逐点检测反弹，状态保存在基本类型字段中
+     */
+    private static final class BounceVisitor implements TrajectoryFile.PointVisitor {
+
+        private final int[] counts;
+        private final float width;
+        private final float height;
+        private final int columns;
+        private final int rows;
+        private final float minDy;
+
+        private long previousTimestamp = Long.MIN_VALUE;
+        private float previousX;
+        private float previousY;
+        private float previousDy;
+
+        private BounceVisitor(int[] counts, float width, float height, int columns, int rows) {
+            this.counts = counts;
+            this.width = width;
+            this.height = height;
+            this.columns = columns;
+            this.rows = rows;
+            this.minDy = height * MIN_DY_RATIO;
+        }
+
+        @Override
+        public void accept(long timestampMillis, float x, float y, float confidence) {
+            if (previousTimestamp == Long.MIN_VALUE || timestampMillis - previousTimestamp > MAX_GAP_MILLIS) {
+                previousDy = 0;
+            } else {
+                float dy = y - previousY;
+                if (Math.abs(dy) >= minDy) {
+                    // 画面坐标y轴向下，dy由正转负说明球在上一个点触台反弹
+                    if (previousDy > 0 && dy < 0) {
+                        record(previousX, previousY);
+                    }
+                    previousDy = dy;
+                }
+            }
+            previousTimestamp = timestampMillis;
+            previousX = x;
+            previousY = y;
+        }
+
+        private void record(float x, float y) {
+            int column = Math.min(columns - 1, Math.max(0, (int) (x / width * columns)));
+            int row = Math.min(rows - 1, Math.max(0, (int) (y / height * rows)));
+            counts[row * columns + column]++;
+        }
+    }
+}
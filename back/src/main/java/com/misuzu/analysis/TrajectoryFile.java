@@ -0,0 +1,270 @@
+package com.misuzu.analysis;
+
+import com.misuzu.dto.TrajectoryPoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 列式轨迹文件
+ * <p>
+ * 文件布局（小端序）：
+ * <pre>
+ * 头部 32字节  magic("TRJ1") | version(u16) | flags(u16) | count(i32) | blockSize(i32) | blockCount(i32)
+ *              | timestampBytes(i32) | xRange(f32) | yRange(f32)
+ * 块索引       每块24字节：firstTimestamp(i64) | lastTimestamp(i64) | timestampOffset(i32) | 保留(i32)
+ * 时间戳列     按块存放，块内第一个点为0，其余为与前一点的差值，均为无符号变长整数
+ * x列          count个u16，按xRange量化
+ * y列          count个u16，按yRange量化
+ * 置信度列     count个u8，按1/255量化
+ * </pre>
+ * 读取时通过MappedByteBuffer映射文件，按块索引二分定位时间窗口，只解码命中的块，不创建中间对象。
+ */
+public final class TrajectoryFile {
+
+    private static final int MAGIC = 0x314A5254; // "TRJ1"
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int INDEX_ENTRY_BYTES = 24;
+    private static final int DEFAULT_BLOCK_SIZE = 1024;
+    private static final int U16_MAX = 0xFFFF;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int blockSize;
+    private final int blockCount;
+    private final float xRange;
+    private final float yRange;
+    private final int timestampBase;
+    private final int xBase;
+    private final int yBase;
+    private final int confidenceBase;
+
+    /**
+     * 轨迹点访问回调，使用基本类型参数，扫描时不产生对象
+     */
+    @FunctionalInterface
+    public interface PointVisitor {
+        void accept(long timestampMillis, float x, float y, float confidence);
+    }
+
+    private TrajectoryFile(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("不是有效的轨迹文件");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw new IOException("不支持的轨迹文件版本: " + buffer.getShort(4));
+        }
+        this.count = buffer.getInt(8);
+        this.blockSize = buffer.getInt(12);
+        this.blockCount = buffer.getInt(16);
+        int timestampBytes = buffer.getInt(20);
+        this.xRange = buffer.getFloat(24);
+        this.yRange = buffer.getFloat(28);
+
+        this.timestampBase = HEADER_BYTES + blockCount * INDEX_ENTRY_BYTES;
+        this.xBase = timestampBase + timestampBytes;
+        this.yBase = xBase + count * 2;
+        this.confidenceBase = yBase + count * 2;
+        if (confidenceBase + count > buffer.capacity()) {
+            throw new IOException("轨迹文件已损坏");
+        }
+    }
+
+    /**
+     * 以只读方式映射轨迹文件
+     *
+     * @param path 文件路径
+     * @return 轨迹文件
+     * @throws IOException 文件不存在或格式错误
+     */
+    public static TrajectoryFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new TrajectoryFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * 写入轨迹文件，先写同目录下的唯一临时文件再原子替换，并发写入同一目标时各自的临时文件互不干扰
+     *
+     * @param path 目标路径
+     * @param points 按时间顺序排列的轨迹点
+     * @throws IOException 写入失败
+     */
+    public static void write(Path path, List<TrajectoryPoint> points) throws IOException {
+        int count = points.size();
+        int blockCount = (count + DEFAULT_BLOCK_SIZE - 1) / DEFAULT_BLOCK_SIZE;
+
+        float xRange = 1;
+        float yRange = 1;
+        for (TrajectoryPoint point : points) {
+            xRange = Math.max(xRange, point.getX());
+            yRange = Math.max(yRange, point.getY());
+        }
+
+        // 时间戳列长度不定，先单独编码
+        ByteBuffer timestamps = ByteBuffer.allocate(Math.max(16, count * 10));
+        ByteBuffer index = ByteBuffer.allocate(blockCount * INDEX_ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int block = 0; block < blockCount; block++) {
+            int from = block * DEFAULT_BLOCK_SIZE;
+            int to = Math.min(from + DEFAULT_BLOCK_SIZE, count);
+            index.putLong(points.get(from).getTimestampMillis())
+                    .putLong(points.get(to - 1).getTimestampMillis())
+                    .putInt(timestamps.position())
+                    .putInt(0);
+            long previous = points.get(from).getTimestampMillis();
+            for (int i = from; i < to; i++) {
+                long timestamp = points.get(i).getTimestampMillis();
+                putVarLong(timestamps, timestamp - previous);
+                previous = timestamp;
+            }
+        }
+        timestamps.flip();
+
+        int size = HEADER_BYTES + index.capacity() + timestamps.remaining() + count * 5;
+        ByteBuffer out = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) 0)
+                .putInt(count)
+                .putInt(DEFAULT_BLOCK_SIZE)
+                .putInt(blockCount)
+                .putInt(timestamps.remaining())
+                .putFloat(xRange)
+                .putFloat(yRange);
+        out.put(index.flip());
+        out.put(timestamps);
+        for (TrajectoryPoint point : points) {
+            out.putShort(quantize(point.getX(), xRange));
+        }
+        for (TrajectoryPoint point : points) {
+            out.putShort(quantize(point.getY(), yRange));
+        }
+        for (TrajectoryPoint point : points) {
+            out.put((byte) Math.round(Math.max(0, Math.min(1, point.getConfidence())) * 255));
+        }
+        out.flip();
+
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 轨迹点总数
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 扫描时间窗口内的轨迹点
+     *
+     * @param fromMillis 起始时间（包含）
+     * @param toMillis 结束时间（不包含）
+     * @param visitor 回调
+     */
+    public void scan(long fromMillis, long toMillis, PointVisitor visitor) {
+        for (int block = firstBlock(fromMillis); block < blockCount; block++) {
+            int entry = HEADER_BYTES + block * INDEX_ENTRY_BYTES;
+            long timestamp = buffer.getLong(entry);
+            if (timestamp >= toMillis) {
+                return;
+            }
+            int position = timestampBase + buffer.getInt(entry + 16);
+            int from = block * blockSize;
+            int to = Math.min(from + blockSize, count);
+            for (int i = from; i < to; i++) {
+                // 内联解码变长整数，避免为读取位置创建对象
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = buffer.get(position++);
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                timestamp += delta;
+
+                if (timestamp >= toMillis) {
+                    return;
+                }
+                if (timestamp >= fromMillis) {
+                    visitor.accept(timestamp,
+                            dequantize(buffer.getShort(xBase + i * 2), xRange),
+                            dequantize(buffer.getShort(yBase + i * 2), yRange),
+                            (buffer.get(confidenceBase + i) & 0xFF) / 255f);
+                }
+            }
+        }
+    }
+
+    /**
+     * 读取时间窗口内的轨迹点
+     *
+     * @param fromMillis 起始时间（包含）
+     * @param toMillis 结束时间（不包含）
+     * @return 轨迹点列表
+     */
+    public List<TrajectoryPoint> read(long fromMillis, long toMillis) {
+        List<TrajectoryPoint> points = new ArrayList<>();
+        scan(fromMillis, toMillis, (timestamp, x, y, confidence) ->
+                points.add(new TrajectoryPoint(timestamp, x, y, confidence)));
+        return points;
+    }
+
+    /**
+     * 二分查找最后一个起始时间不晚于fromMillis的块
+     */
+    private int firstBlock(long fromMillis) {
+        int low = 0;
+        int high = blockCount - 1;
+        int result = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(HEADER_BYTES + mid * INDEX_ENTRY_BYTES) <= fromMillis) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static short quantize(float value, float range) {
+        return (short) Math.round(Math.max(0, Math.min(1, value / range)) * U16_MAX);
+    }
+
+    private static float dequantize(short value, float range) {
+        return (value & U16_MAX) * range / U16_MAX;
+    }
+}
@@ -0,0 +1,138 @@
+package com.misuzu.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 大模型服务的按主机并发限制
+ * 每个主机一个公平信号量，请求发出前获取许可，响应体读完或关闭时释放，流式响应在整个读取期间占用许可。
+ * 等待超时抛出IOException，RestTemplate/RestClient会将其包装为ResourceAccessException。
+ */
+@Slf4j
+public class ModelHostLimiter {
+
+    private final int maxConcurrentPerHost;
+    private final long acquireTimeoutSeconds;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public ModelHostLimiter(int maxConcurrentPerHost, long acquireTimeoutSeconds) {
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+        this.acquireTimeoutSeconds = acquireTimeoutSeconds;
+    }
+
+    /**
+     * 获取目标主机的调用许可
+     *
+     * @param uri 请求地址
+     * @return 只能生效一次的释放操作
+     * @throws IOException 等待许可超时或被中断
+     */
+    public Runnable acquire(URI uri) throws IOException {
+        String host = uri.getHost();
+        Semaphore semaphore = permits.computeIfAbsent(host, key -> new Semaphore(maxConcurrentPerHost, true));
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("等待{}的调用许可超时({}s)，当前排队: {}", host, acquireTimeoutSeconds,
+                        semaphore.getQueueLength());
+                throw new IOException("大模型服务繁忙，请稍后重试");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待大模型调用许可时被中断");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        };
+    }
+
+    /**
+     * 用于RestTemplate/RestClient的拦截器
+     */
+    public ClientHttpRequestInterceptor interceptor() {
+        return (request, body, execution) -> {
+            Runnable release = acquire(request.getURI());
+            try {
+                return new ReleasingResponse(execution.execute(request, body), release);
+            } catch (IOException | RuntimeException e) {
+                release.run();
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * 用于WebClient的过滤器，阻塞等待许可的操作放在boundedElastic线程上执行
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.fromCallable(() -> acquire(request.url()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(release -> next.exchange(request)
+                        .map(response -> response.mutate()
+                                .body(body -> body.doFinally(signal -> release.run()))
+                                .build())
+                        .doOnError(e -> release.run())
+                        .doOnCancel(release));
+    }
+
+    /**
+     * 关闭时释放许可的响应包装
+     */
+    private static final class ReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Runnable release;
+
+        private ReleasingResponse(ClientHttpResponse delegate, Runnable release) {
+            this.delegate = delegate;
+            this.release = release;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                release.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.misuzu.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * 大模型服务HTTP客户端配置
+ * 报告服务的RestTemplate与Spring AI（ChatClient）使用的RestClient、WebClient共用同一个JDK HttpClient，
+ * 优先协商HTTP/2，连接由HttpClient池化复用，不再每次请求重新握手TLS；
+ * 同时统一连接/读取超时，并按主机限制并发请求数。
+ */
+@Configuration
+public class ModelHttpClientConfig {
+
+    /**
+     * 按主机的并发限制
+     *
+     * @param maxConcurrentPerHost 每个主机同时进行的请求数上限
+     * @param acquireTimeoutSeconds 等待许可的超时
+     * @return 并发限制
+     */
+    @Bean
+    public ModelHostLimiter modelHostLimiter(
+            @Value("${model.http.max-concurrent-per-host:8}") int maxConcurrentPerHost,
+            @Value("${model.http.acquire-timeout-seconds:60}") long acquireTimeoutSeconds) {
+        return new ModelHostLimiter(maxConcurrentPerHost, acquireTimeoutSeconds);
+    }
+
+    /**
+     * 共享的JDK HttpClient
+     * 服务端不支持HTTP/2时自动回退到HTTP/1.1 keep-alive连接池
+     *
+     * @param connectTimeoutSeconds 连接超时
+     * @return HttpClient
+     */
+    @Bean
+    public HttpClient modelHttpClient(@Value("${model.http.connect-timeout-seconds:10}") long connectTimeoutSeconds) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * 基于共享HttpClient的同步请求工厂
+     *
+     * @param httpClient 共享HttpClient
+     * @param readTimeoutSeconds 等待响应的超时
+     * @return 请求工厂
+     */
+    @Bean
+    public JdkClientHttpRequestFactory modelRequestFactory(
+            @Qualifier("modelHttpClient") HttpClient httpClient,
+            @Value("${model.http.read-timeout-seconds:120}") long readTimeoutSeconds) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofSeconds(readTimeoutSeconds));
+        return requestFactory;
+    }
+
+    /**
+     * 报告服务调用千帆接口使用的RestTemplate
+     *
+     * @param requestFactory 请求工厂
+     * @param limiter 按主机的并发限制
+     * @return RestTemplate
+     */
+    @Bean(name = "modelRestTemplate")
+    public RestTemplate modelRestTemplate(JdkClientHttpRequestFactory requestFactory, ModelHostLimiter limiter) {
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(limiter.interceptor());
+        return restTemplate;
+    }
+
+    /**
+     * Spring AI同步调用（ChatClient.call）使用的RestClient
+     */
+    @Bean
+    public RestClientCustomizer modelRestClientCustomizer(JdkClientHttpRequestFactory requestFactory,
+                                                          ModelHostLimiter limiter) {
+        return builder -> builder.requestFactory(requestFactory).requestInterceptor(limiter.interceptor());
+    }
+
+    /**
+     * Spring AI流式调用（ChatClient.stream）使用的WebClient
+     */
+    @Bean
+    public WebClientCustomizer modelWebClientCustomizer(@Qualifier("modelHttpClient") HttpClient httpClient,
+                                                        ModelHostLimiter limiter) {
+        return builder -> builder.clientConnector(new JdkClientHttpConnector(httpClient)).filter(limiter.filter());
+    }
+}
@@ -0,0 +1,39 @@
+package com.misuzu.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 报告生成线程池配置
+ * 大模型调用耗时数秒，放到独立的有界线程池中执行，不占用Tomcat请求线程
+ */
+@Configuration
+public class ReportGenerationConfig {
+
+    /**
+     * 报告生成线程池
+     * 队列满时拒绝提交，由接口返回429
+     *
+     * @param poolSize 线程数
+     * @param queueCapacity 等待队列长度
+     * @return 线程池
+     */
+    @Bean(name = "reportGenerationExecutor")
+    public ThreadPoolTaskExecutor reportGenerationExecutor(
+            @Value("${report.jobs.pool-size:8}") int poolSize,
+            @Value("${report.jobs.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-gen-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,42 @@
+package com.misuzu.config;
+
+import com.misuzu.service.AdmissionControlService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 上传准入拦截器
+ * 在读取请求体之前登记上传额度，负载超过阈值时直接返回429，不占用Tomcat线程做磁盘写入
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED_BYTES = UploadAdmissionInterceptor.class.getName() + ".bytes";
+
+    private final AdmissionControlService admissionControlService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 只有POST会创建上传，预检等其他方法直接放行
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        long bytes = Math.max(0, request.getContentLengthLong());
+        admissionControlService.acquireUpload(bytes);
+        request.setAttribute(ADMITTED_BYTES, bytes);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object bytes = request.getAttribute(ADMITTED_BYTES);
+        if (bytes != null) {
+            admissionControlService.releaseUpload((Long) bytes);
+        }
+    }
+}
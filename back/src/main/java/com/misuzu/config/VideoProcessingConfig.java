@@ -0,0 +1,108 @@
+package com.misuzu.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 视频处理线程池配置
+ * 上传请求只负责落盘和写入PENDING记录及处理任务，缩略图、时长等耗时处理交给后台线程池；
+ * 开启定时调度，用于领取任务、续租和回收过期租约
+ */
+@Configuration
+@EnableScheduling
+public class VideoProcessingConfig {
+
+    /**
+     * 视频处理线程池
+     * 线程数默认等于CPU核数，队列有界，队列满时拒绝提交，任务调度只按空闲线程数领取任务
+     *
+     * @param poolSize 线程数，小于等于0时使用CPU核数
+     * @param queueCapacity 等待队列长度
+     * @return 线程池
+     */
+    @Bean(name = "videoProcessingExecutor")
+    public ThreadPoolTaskExecutor videoProcessingExecutor(
+            @Value("${video.processing.pool-size:0}") int poolSize,
+            @Value("${video.processing.queue-capacity:200}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("video-proc-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 任务调度线程
+     * 事务提交后唤醒调度时只向这里提交，不在请求线程上领取任务；
+     * 单线程、队列长度为1，已有一次调度在排队时丢弃新的唤醒，排队的那次会领取到所有已提交的任务
+     *
+     * @return 线程池
+     */
+    @Bean(name = "videoJobDispatchExecutor")
+    public ThreadPoolTaskExecutor videoJobDispatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("video-dispatch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+
+    /**
+     * HLS转码线程池
+     * 与分析线程池隔离，转码积压时不会挤占分析线程。每个任务由一个解码器和每个清晰度一个编码器组成，
+     * 各自使用encoderThreads个线程，因此按编解码线程总数而不是任务数限制并发：
+     * 同时运行的任务数 = maxThreads / ((清晰度数 + 2) * encoderThreads)，至少为1
+     *
+     * @param maxThreads 转码可占用的编解码线程总数，小于等于0时使用CPU核数的四分之一
+     * @param heights 除原始分辨率外额外输出的清晰度
+     * @param encoderThreads 每路编解码器的线程数
+     * @param queueCapacity 等待队列长度
+     * @return 线程池
+     */
+    @Bean(name = "videoTranscodeExecutor")
+    public ThreadPoolTaskExecutor videoTranscodeExecutor(
+            @Value("${video.transcode.max-threads:0}") int maxThreads,
+            @Value("${video.transcode.heights:360,720}") int[] heights,
+            @Value("${video.transcode.encoder-threads:1}") int encoderThreads,
+            @Value("${video.transcode.queue-capacity:50}") int queueCapacity) {
+        int budget = maxThreads > 0 ? maxThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        int threadsPerTask = (heights.length + 2) * Math.max(1, encoderThreads);
+        int threads = Math.max(1, budget / threadsPerTask);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("video-hls-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 轨迹分析分段解码使用的fork/join线程池
+     * 所有视频共享该线程池，同时解码的分段总数不超过并行度
+     *
+     * @param parallelism 并行度，小于等于0时使用CPU核数
+     * @return 线程池
+     */
+    @Bean(name = "trajectoryForkJoinPool", destroyMethod = "shutdown")
+    public ForkJoinPool trajectoryForkJoinPool(@Value("${video.trajectory.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -11,11 +11,13 @@ package com.misuzu.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -26,8 +28,11 @@ import java.util.List;
  * 配置Web相关的内容，如跨域、JSON序列化等
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final UploadAdmissionInterceptor uploadAdmissionInterceptor;
+
     /**
      * 配置跨域
      * 
@@ -42,6 +47,19 @@ public class WebConfig implements WebMvcConfigurer {
                 .maxAge(3600);
     }
 
+    /**
+     * 上传接口的准入控制
+     * 分片上传由ChunkedUploadService在创建会话时按声明的文件大小准入，不经过拦截器，避免重复登记；
+     * 已准入会话的分片写入以及完成、查询和取消不受限制，否则负载升高时已传了一半的上传会被拒绝
+     *
+     * @param registry 拦截器注册表
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(uploadAdmissionInterceptor)
+                .addPathPatterns("/videos/upload", "/videos/upload/stream", "/videos/upload/batch");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // 静态资源
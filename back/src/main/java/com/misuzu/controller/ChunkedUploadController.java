@@ -0,0 +1,102 @@
+package com.misuzu.controller;
+
+import com.misuzu.dto.ApiResponse;
+import com.misuzu.dto.UploadSessionRequest;
+import com.misuzu.dto.UploadSessionResponse;
+import com.misuzu.entity.Video;
+import com.misuzu.exception.BusinessException;
+import com.misuzu.service.ChunkedUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 分片上传控制器
+ * 提供断点续传接口，支持大文件分片并行上传
+ */
+@RestController
+@RequestMapping("/videos/uploads")
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    /**
+     * 创建上传会话
+     *
+     * @param request 会话创建请求
+     * @return 会话信息，包含uploadId和分片大小
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> createSession(
+            @Valid @RequestBody UploadSessionRequest request) {
+        log.info("创建分片上传会话: 用户={}, 文件={}, 大小={}",
+                request.getUserId(), request.getFilename(), request.getTotalSize());
+        return ResponseEntity.ok(ApiResponse.success("会话创建成功", chunkedUploadService.createSession(request)));
+    }
+
+    /**
+     * 上传分片，请求体为分片的原始字节
+     *
+     * @param uploadId 上传会话ID
+     * @param index 分片序号，从0开始
+     * @param request 原始请求
+     * @return 会话状态
+     */
+    @PutMapping("/{uploadId}/chunks/{index}")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> uploadChunk(
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            HttpServletRequest request) {
+        try {
+            UploadSessionResponse response = chunkedUploadService.writeChunk(
+                    uploadId, index, request.getContentLengthLong(), request.getInputStream());
+            return ResponseEntity.ok(ApiResponse.success("分片上传成功", response));
+        } catch (IOException e) {
+            throw new BusinessException("读取分片数据失败: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * 查询上传进度及已接收的字节区间
+     *
+     * @param uploadId 上传会话ID
+     * @return 会话状态
+     */
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getSession(@PathVariable String uploadId) {
+        return ResponseEntity.ok(ApiResponse.success(chunkedUploadService.getSession(uploadId)));
+    }
+
+    /**
+     * 完成上传，生成视频记录
+     *
+     * @param uploadId 上传会话ID
+     * @return 视频记录
+     */
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ApiResponse<Video>> complete(@PathVariable String uploadId) {
+        log.info("完成分片上传: {}", uploadId);
+        return ResponseEntity.ok(ApiResponse.success("上传完成", chunkedUploadService.complete(uploadId)));
+    }
+
+    /**
+     * 取消上传
+     *
+     * @param uploadId 上传会话ID
+     * @return 操作结果
+     */
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<Void>> abort(@PathVariable String uploadId) {
+        log.info("取消分片上传: {}", uploadId);
+        chunkedUploadService.abort(uploadId);
+        return ResponseEntity.ok(ApiResponse.success("上传已取消", null));
+    }
+}
@@ -0,0 +1,35 @@
+package com.misuzu.controller;
+
+import com.misuzu.dto.ApiResponse;
+import com.misuzu.dto.HeatmapResponse;
+import com.misuzu.service.HeatmapService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 落点热力图控制器
+ */
+@RestController
+@RequestMapping("/heatmaps")
+@RequiredArgsConstructor
+public class HeatmapController {
+
+    private final HeatmapService heatmapService;
+
+    /**
+     * 获取用户的落点热力图
+     *
+     * @param userId 用户ID
+     * @param trainingType 训练类型，不传时返回全部视频的汇总
+     * @return 热力图
+     */
+    @GetMapping("/{userId}")
+    public ApiResponse<HeatmapResponse> getHeatmap(@PathVariable Integer userId,
+                                                   @RequestParam(required = false) String trainingType) {
+        return ApiResponse.success(heatmapService.getHeatmap(userId, trainingType));
+    }
+}
@@ -1,6 +1,8 @@
 package com.misuzu.controller;
 
+import com.misuzu.dto.AdmissionLoad;
 import com.misuzu.dto.ApiResponse;
+import com.misuzu.service.AdmissionControlService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -21,6 +23,7 @@ import java.util.Map;
 public class PublicController {
 
     private final JdbcTemplate jdbcTemplate;
+    private final AdmissionControlService admissionControlService;
     
     @Value("${spring.application.name}")
     private String applicationName;
@@ -46,6 +49,17 @@ public class PublicController {
         return ApiResponse.success("系统正常", status);
     }
     
+    /**
+     * 获取当前负载
+     * 客户端可在批量上传前查询，accepting为false时上传会被拒绝（429）
+     *
+     * @return 上传、处理队列及磁盘空间的负载指标
+     */
+    @GetMapping("/load")
+    public ApiResponse<AdmissionLoad> getLoad() {
+        return ApiResponse.success(admissionControlService.getLoad());
+    }
+
     /**
      * 健康检查
      * 
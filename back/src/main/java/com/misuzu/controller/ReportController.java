@@ -9,8 +9,14 @@
 package com.misuzu.controller;
 
 import com.misuzu.common.ApiResponse;
+import com.misuzu.dto.ReportCacheStats;
+import com.misuzu.exception.BusinessException;
+import com.misuzu.model.dto.ReportJobResponse;
 import com.misuzu.model.dto.ReportModelRequest;
 import com.misuzu.model.dto.ReportModelResponse;
+import com.misuzu.model.dto.ReportStreamEvent;
+import com.misuzu.service.ReportCacheService;
+import com.misuzu.service.ReportJobService;
 import com.misuzu.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,9 +27,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,6 +48,8 @@ import java.util.Map;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportCacheService reportCacheService;
+    private final ReportJobService reportJobService;
     private final JdbcTemplate jdbcTemplate;
 
     @PostConstruct
@@ -77,6 +89,82 @@ public class ReportController {
         }
     }
 
+    /**
+     * 流式生成报告（SSE）
+     * 大模型每输出完一个字段或章节即推送，事件名为field、section，最后推送done（完整报告）或error
+     *
+     * @param request 报告模型请求
+     * @return 生成事件流
+     */
+    @PostMapping(value = "/model-analysis/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "流式生成报告")
+    public Flux<ServerSentEvent<ReportStreamEvent>> streamModelAnalysis(@RequestBody ReportModelRequest request) {
+        return reportService.streamModelAnalysis(request)
+                .map(event -> ServerSentEvent.<ReportStreamEvent>builder()
+                        .event(event.getType())
+                        .data(event)
+                        .build());
+    }
+
+    /**
+     * 提交报告生成任务
+     * 立即返回任务ID，生成在后台线程池中进行，不占用请求线程
+     *
+     * @param request 报告模型请求
+     * @return 刚创建的任务
+     */
+    @PostMapping("/jobs")
+    @Operation(summary = "提交报告生成任务")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitJob(@RequestBody ReportModelRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("任务已提交", reportJobService.submit(request)));
+    }
+
+    /**
+     * 轮询报告生成任务
+     *
+     * @param jobId 任务ID
+     * @return 任务状态，完成后包含生成结果
+     */
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "查询报告生成任务")
+    public ApiResponse<ReportJobResponse> getJob(@PathVariable String jobId) {
+        return ApiResponse.success(reportJobService.getJob(jobId));
+    }
+
+    /**
+     * 订阅报告生成任务（SSE）
+     * 连接后先推送当前状态，任务结束时推送最终状态并关闭连接
+     *
+     * @param jobId 任务ID
+     * @return 状态事件流
+     */
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅报告生成任务")
+    public Flux<ServerSentEvent<ReportJobResponse>> subscribeJob(@PathVariable String jobId) {
+        return reportJobService.subscribe(jobId)
+                .map(job -> ServerSentEvent.<ReportJobResponse>builder()
+                        .id(jobId)
+                        .event(job.getStatus().name().toLowerCase())
+                        .data(job)
+                        .build())
+                .mergeWith(Flux.interval(Duration.ofSeconds(15))
+                        // 心跳以注释行发送，不带id，不会覆盖客户端记录的Last-Event-ID
+                        .map(i -> ServerSentEvent.<ReportJobResponse>builder()
+                                .comment("heartbeat")
+                                .build()))
+                .takeUntil(sse -> sse.data() != null && sse.data().isTerminal());
+    }
+
+    /**
+     * 大模型报告结果缓存的命中统计
+     */
+    @GetMapping("/cache/stats")
+    @Operation(summary = "报告缓存统计")
+    public ApiResponse<ReportCacheStats> getCacheStats() {
+        return ApiResponse.success(reportCacheService.getStats());
+    }
+
     /**
      * 测试接口，用于验证控制器是否正常工作
      */
@@ -155,6 +243,11 @@ public class ReportController {
             
             log.info("报告保存成功，返回ID: {}", reportId);
             return ResponseEntity.ok(result);
+        } catch (BusinessException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("code", e.getCode());
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(e.getStatus()).body(error);
         } catch (Exception e) {
             log.error("保存报告失败: {}", e.getMessage(), e);
             
@@ -196,18 +289,12 @@ public class ReportController {
             return ResponseEntity.ok()
                     .headers(headers)
                     .body(pdfContent);
+        } catch (BusinessException e) {
+            log.warn("导出PDF失败: {}", e.getMessage());
+            return ResponseEntity.status(e.getStatus()).body(null);
         } catch (Exception e) {
             log.error("导出PDF失败: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
-
-    /**
-     * 全局异常处理
-     */
-    @ExceptionHandler(Exception.class)
-    public ApiResponse<String> handleException(Exception e) {
-        log.error("控制器异常: {}", e.getMessage(), e);
-        return ApiResponse.error(500, "服务异常: " + e.getMessage());
-    }
 }
\ No newline at end of file
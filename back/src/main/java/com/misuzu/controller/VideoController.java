@@ -1,29 +1,70 @@
 package com.misuzu.controller;
 
+import com.misuzu.dto.ApiResponse;
+import com.misuzu.dto.BatchUploadResult;
+import com.misuzu.dto.TrajectoryPoint;
+import com.misuzu.dto.VideoIngestResult;
+import com.misuzu.dto.VideoListQuery;
+import com.misuzu.dto.VideoPage;
+import com.misuzu.dto.VideoProgressEvent;
 import com.misuzu.dto.VideoUploadDTO;
 import com.misuzu.entity.Video;
+import com.misuzu.service.TrajectoryService;
+import com.misuzu.service.VideoProgressService;
 import com.misuzu.service.VideoService;
+import com.misuzu.service.VideoStreamService;
 import io.jsonwebtoken.io.IOException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/videos")
 public class VideoController {
 
     private final VideoService videoService;
+    private final VideoStreamService videoStreamService;
+    private final TrajectoryService trajectoryService;
+    private final VideoProgressService videoProgressService;
 
     @Autowired
-    public VideoController(VideoService videoService) {
+    public VideoController(VideoService videoService, VideoStreamService videoStreamService,
+                           TrajectoryService trajectoryService, VideoProgressService videoProgressService) {
         this.videoService = videoService;
+        this.videoStreamService = videoStreamService;
+        this.trajectoryService = trajectoryService;
+        this.videoProgressService = videoProgressService;
     }
+    /**
+     * 分页查询视频列表
+     * 按上传时间倒序，可按用户、状态、训练类型、上传日期过滤；翻页时传入上一页返回的nextCursor
+     *
+     * @param query 查询条件
+     * @return 当前页视频及下一页游标
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<VideoPage>> listVideos(VideoListQuery query) {
+        return ResponseEntity.ok(ApiResponse.success(videoService.listVideos(query)));
+    }
+
     @GetMapping("/test")
     public ResponseEntity<String> test() {
         return ResponseEntity.ok("测试成功");
@@ -45,4 +86,100 @@ public class VideoController {
                     .body("文件处理失败: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 流式上传视频
+     * 直接解析请求体并写入最终文件，不经过容器临时文件，适合大文件批量上传
+     * 表单字段：userId、title、description、trainingType，文件字段：file
+     *
+     * @param request 原始请求
+     * @return 视频记录及写入速率、持久化耗时
+     */
+    @PostMapping(value = "/upload/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<VideoIngestResult>> uploadVideoStream(HttpServletRequest request) {
+        VideoIngestResult result = videoService.processStreamingUpload(request);
+        return ResponseEntity.ok(ApiResponse.success("上传成功", result));
+    }
+
+    /**
+     * 批量上传视频
+     * 一次请求上传多个文件，逐个流式写入存储，视频记录和处理任务批量写入数据库
+     * 表单字段：userId、trainingType、description，文件字段：files（可重复）
+     *
+     * @param request 原始请求
+     * @return 每个文件的处理结果
+     */
+    @PostMapping(value = "/upload/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<BatchUploadResult>> uploadVideoBatch(HttpServletRequest request) {
+        BatchUploadResult result = videoService.processBatchUpload(request);
+        return ResponseEntity.ok(ApiResponse.success("上传完成", result));
+    }
+
+    /**
+     * 播放视频
+     * 支持Range/If-Range请求，返回206分段内容，供播放器拖动进度条
+     *
+     * @param id 视频ID
+     * @param request 原始请求
+     * @param response 原始响应
+     */
+    @GetMapping("/{id}/stream")
+    public void streamVideo(@PathVariable Integer id, HttpServletRequest request, HttpServletResponse response) {
+        videoStreamService.stream(id, request, response);
+    }
+
+    /**
+     * 获取视频的球轨迹
+     *
+     * @param id 视频ID
+     * @param from 起始时间（毫秒，包含）
+     * @param to 结束时间（毫秒，不包含）
+     * @return 时间窗口内的轨迹点
+     */
+    @GetMapping("/{id}/trajectory")
+    public ResponseEntity<ApiResponse<List<TrajectoryPoint>>> getTrajectory(
+            @PathVariable Integer id,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to) {
+        return ResponseEntity.ok(ApiResponse.success(trajectoryService.getTrajectory(id, from, to)));
+    }
+
+    /**
+     * 订阅视频处理进度（SSE）
+     * 首个事件为当前状态，之后推送probe、thumbnail、decode（带百分比）、trajectory阶段，
+     * 处理结束时推送done或failed并关闭连接
+     *
+     * @param id 视频ID
+     * @return 进度事件流，事件名为阶段名
+     */
+    @GetMapping(value = "/{id}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<VideoProgressEvent>> streamProgress(@PathVariable Integer id) {
+        return videoProgressService.subscribe(id)
+                .map(event -> ServerSentEvent.<VideoProgressEvent>builder()
+                        .id(String.valueOf(event.getTimestamp()))
+                        .event(event.getStage())
+                        .data(event)
+                        .build())
+                // 添加心跳事件，防止连接超时
+                .mergeWith(Flux.interval(Duration.ofSeconds(15))
+                        .map(i -> ServerSentEvent.<VideoProgressEvent>builder()
+                                .id("heartbeat")
+                                .event("heartbeat")
+                                .build()))
+                // 最终事件发出后结束，同时停止心跳
+                .takeUntil(sse -> sse.data() != null && sse.data().isTerminal());
+    }
+
+    /**
+     * 删除视频
+     * 视频文件按内容共享，没有其他视频引用时才会删除文件
+     *
+     * @param id 视频ID
+     * @return 操作结果
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteVideo(@PathVariable Integer id) {
+        videoService.deleteVideo(id);
+        return ResponseEntity.ok(ApiResponse.success("删除成功", null));
+    }
+}
@@ -0,0 +1,51 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 当前负载
+ * 上传准入控制使用的各项指标及阈值
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdmissionLoad {
+
+    /**
+     * 是否接受新的上传
+     */
+    private boolean accepting;
+
+    /**
+     * 正在进行的上传请求数及上限
+     */
+    private int inFlightUploads;
+    private int maxInFlightUploads;
+
+    /**
+     * 正在进行的上传请求声明的字节数及上限
+     */
+    private long inFlightBytes;
+    private long maxInFlightBytes;
+
+    /**
+     * 等待处理的视频任务数及上限
+     */
+    private long queuedJobs;
+    private long maxQueuedJobs;
+
+    /**
+     * 本节点正在处理的视频数
+     */
+    private int activeProcessing;
+
+    /**
+     * 视频存储目录的可用空间及下限（字节）
+     */
+    private long diskFreeBytes;
+    private long minDiskFreeBytes;
+}
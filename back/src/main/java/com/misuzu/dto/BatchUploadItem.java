@@ -0,0 +1,52 @@
+package com.misuzu.dto;
+
+import com.misuzu.entity.VideoStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量上传中单个文件的结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchUploadItem {
+
+    /**
+     * 原始文件名
+     */
+    private String fileName;
+
+    /**
+     * 视频ID，失败时为空
+     */
+    private Integer videoId;
+
+    /**
+     * 视频状态，复用已有分析结果时为COMPLETED，失败时为空
+     */
+    private VideoStatus status;
+
+    /**
+     * 存储中已有相同内容
+     */
+    private boolean duplicate;
+
+    /**
+     * 已写入字节数
+     */
+    private long bytesWritten;
+
+    /**
+     * 失败原因
+     */
+    private String error;
+
+    /**
+     * 失败时对应的HTTP状态码，文件超过大小限制时为413，成功时为空
+     */
+    private Integer code;
+}
@@ -0,0 +1,33 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量上传结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchUploadResult {
+
+    /**
+     * 成功创建的视频数
+     */
+    private int created;
+
+    /**
+     * 失败的文件数
+     */
+    private int failed;
+
+    /**
+     * 按上传顺序排列的各文件结果
+     */
+    private List<BatchUploadItem> items;
+}
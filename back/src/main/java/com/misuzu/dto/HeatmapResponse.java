@@ -0,0 +1,45 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 落点热力图
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HeatmapResponse {
+
+    private Integer userId;
+
+    /**
+     * 训练类型，ALL表示全部视频
+     */
+    private String trainingType;
+
+    private int columns;
+    private int rows;
+
+    /**
+     * 各网格的落点计数，按行优先排列，长度为columns * rows
+     */
+    private long[] counts;
+
+    /**
+     * 落点总数
+     */
+    private long total;
+
+    /**
+     * 已统计的视频数
+     */
+    private int videoCount;
+
+    private Date updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 大模型报告结果缓存统计
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportCacheStats {
+
+    /**
+     * 当前缓存条数及上限
+     */
+    private int size;
+    private int capacity;
+
+    /**
+     * 命中、未命中次数，过期条目计为未命中
+     */
+    private long hits;
+    private long misses;
+
+    /**
+     * 命中率，尚无请求时为0
+     */
+    private double hitRate;
+
+    /**
+     * 训练数据版本，每次有视频分析完成时递增
+     */
+    private long dataVersion;
+
+    /**
+     * 缓存条目的有效期（秒）
+     */
+    private long ttlSeconds;
+}
@@ -0,0 +1,25 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 静止区间
+ * 画面无运动、跳过球体检测的时间段
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaticInterval {
+
+    /**
+     * 第一个被跳过帧的时间戳（毫秒）
+     */
+    private long fromMillis;
+
+    /**
+     * 最后一个被跳过帧的时间戳（毫秒）
+     */
+    private long toMillis;
+}
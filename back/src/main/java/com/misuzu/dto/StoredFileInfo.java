@@ -0,0 +1,56 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+
+/**
+ * 已落盘文件信息
+ * 记录视频文件的存储位置以及写入耗时
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredFileInfo {
+
+    /**
+     * 文件存储路径
+     */
+    private Path path;
+
+    /**
+     * 写入字节数
+     */
+    private long size;
+
+    /**
+     * 数据传输耗时（毫秒）
+     */
+    private long transferMillis;
+
+    /**
+     * 从开始写入到数据持久化完成的耗时（毫秒）
+     */
+    private long timeToDurableMillis;
+
+    /**
+     * 文件内容的SHA-256（十六进制小写）
+     */
+    private String sha256;
+
+    /**
+     * 存储中已有相同内容的文件，本次写入的数据已丢弃
+     */
+    private boolean duplicate;
+
+    /**
+     * 写入速率（字节/秒）
+     */
+    public long getBytesPerSecond() {
+        return transferMillis > 0 ? size * 1000 / transferMillis : size;
+    }
+}
@@ -0,0 +1,49 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 缩略图生成结果
+ * 包含封面缩略图、多张海报帧以及拖动预览用的雪碧图
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThumbnailResult {
+
+    /**
+     * 封面缩略图路径
+     */
+    private String thumbnailUrl;
+
+    /**
+     * 海报帧路径，按时间先后排列
+     */
+    private List<String> posterUrls;
+
+    /**
+     * 雪碧图路径，未生成时为空
+     */
+    private String spriteUrl;
+
+    /**
+     * 雪碧图列数
+     */
+    private int spriteColumns;
+
+    /**
+     * 雪碧图行数
+     */
+    private int spriteRows;
+
+    /**
+     * 雪碧图中相邻两帧的时间间隔（毫秒）
+     */
+    private long spriteIntervalMillis;
+}
@@ -0,0 +1,43 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 轨迹分析结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrajectoryAnalysis {
+
+    /**
+     * 轨迹文件路径
+     */
+    private String trajectoryUrl;
+
+    /**
+     * 轨迹点数
+     */
+    private int pointCount;
+
+    /**
+     * 解码的帧数（不含分段预热帧）
+     */
+    private int frameCount;
+
+    /**
+     * 因画面静止跳过检测的帧数
+     */
+    private int skippedFrames;
+
+    /**
+     * 跳过检测的时间区间
+     */
+    private List<StaticInterval> staticIntervals;
+}
@@ -0,0 +1,37 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 轨迹点
+ * 某一帧中检测到的球心位置，坐标为原始视频的像素坐标
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrajectoryPoint {
+
+    /**
+     * 帧时间戳（毫秒）
+     */
+    private long timestampMillis;
+
+    /**
+     * 球心横坐标（像素）
+     */
+    private float x;
+
+    /**
+     * 球心纵坐标（像素）
+     */
+    private float y;
+
+    /**
+     * 置信度，0到1之间
+     */
+    private float confidence;
+}
@@ -0,0 +1,54 @@
+package com.misuzu.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 创建分片上传会话请求
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRequest {
+
+    @NotNull(message = "用户ID不能为空")
+    private Integer userId;
+
+    @NotBlank(message = "视频标题不能为空")
+    private String title;
+
+    private String description;
+
+    /**
+     * 训练类型，如正手攻球、发球，可为空
+     */
+    private String trainingType;
+
+    /**
+     * 原始文件名
+     */
+    @NotBlank(message = "文件名不能为空")
+    private String filename;
+
+    /**
+     * 视频类型，如video/mp4
+     */
+    @NotBlank(message = "视频类型不能为空")
+    private String contentType;
+
+    /**
+     * 文件总大小（字节）
+     */
+    @NotNull(message = "文件大小不能为空")
+    @Positive(message = "文件大小必须大于0")
+    private Long totalSize;
+
+    /**
+     * 期望的分片大小（字节），为空时使用服务端默认值
+     */
+    private Integer chunkSize;
+}
@@ -0,0 +1,61 @@
+package com.misuzu.dto;
+
+import com.misuzu.entity.UploadSessionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 分片上传会话状态
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionResponse {
+
+    /**
+     * 上传会话ID
+     */
+    private String uploadId;
+
+    private UploadSessionStatus status;
+
+    /**
+     * 文件总大小（字节）
+     */
+    private long totalSize;
+
+    /**
+     * 分片大小（字节）
+     */
+    private int chunkSize;
+
+    /**
+     * 分片总数
+     */
+    private int totalChunks;
+
+    /**
+     * 已接收字节数
+     */
+    private long receivedBytes;
+
+    /**
+     * 已接收的字节区间，每项为[起始偏移, 结束偏移)
+     */
+    private List<long[]> receivedRanges;
+
+    /**
+     * 尚未接收的分片序号
+     */
+    private List<Integer> missingChunks;
+
+    /**
+     * 完成后生成的视频ID
+     */
+    private Integer videoId;
+}
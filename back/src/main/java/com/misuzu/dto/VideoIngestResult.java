@@ -0,0 +1,43 @@
+package com.misuzu.dto;
+
+import com.misuzu.entity.Video;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 流式上传结果
+ * 包含视频记录和本次写入的吞吐指标
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoIngestResult {
+
+    /**
+     * 保存后的视频记录
+     */
+    private Video video;
+
+    /**
+     * 写入字节数
+     */
+    private long bytesWritten;
+
+    /**
+     * 写入速率（字节/秒）
+     */
+    private long bytesPerSecond;
+
+    /**
+     * 从开始写入到数据持久化完成的耗时（毫秒）
+     */
+    private long timeToDurableMillis;
+
+    /**
+     * 存储中已有相同内容，本次上传复用了已有文件
+     */
+    private boolean duplicate;
+}
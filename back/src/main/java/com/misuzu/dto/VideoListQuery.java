@@ -0,0 +1,48 @@
+package com.misuzu.dto;
+
+import com.misuzu.entity.VideoStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * 视频列表查询条件，所有条件均可为空
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoListQuery {
+
+    private Integer userId;
+
+    private VideoStatus status;
+
+    private String trainingType;
+
+    /**
+     * 上传日期起始（包含），格式yyyy-MM-dd
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    /**
+     * 上传日期截止（包含），格式yyyy-MM-dd
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    /**
+     * 上一页返回的nextCursor，为空时从最新的视频开始
+     */
+    private String cursor;
+
+    /**
+     * 每页条数
+     */
+    private Integer limit;
+}
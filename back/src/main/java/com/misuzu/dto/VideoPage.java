@@ -0,0 +1,27 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 视频列表分页结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoPage {
+
+    private List<VideoSummary> items;
+
+    /**
+     * 下一页游标，没有更多数据时为null
+     */
+    private String nextCursor;
+
+    private boolean hasMore;
+}
@@ -0,0 +1,62 @@
+package com.misuzu.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 视频探测结果
+ * 来自容器头及流信息，不包含任何解码后的帧数据
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoProbeResult {
+
+    /**
+     * 容器格式，如mov,mp4,m4a,3gp,3g2,mj2
+     */
+    private String format;
+
+    /**
+     * 时长（毫秒）
+     */
+    private long durationMillis;
+
+    /**
+     * 帧率
+     */
+    private double frameRate;
+
+    /**
+     * 画面宽度（像素）
+     */
+    private int width;
+
+    /**
+     * 画面高度（像素）
+     */
+    private int height;
+
+    /**
+     * 视频编码，如h264
+     */
+    private String videoCodec;
+
+    /**
+     * 音频编码，无音轨时为空
+     */
+    private String audioCodec;
+
+    /**
+     * 码率（比特/秒）
+     */
+    private long bitRate;
+
+    /**
+     * 探测耗时（毫秒）
+     */
+    private long probeMillis;
+}
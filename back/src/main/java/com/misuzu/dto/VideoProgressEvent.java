@@ -0,0 +1,53 @@
+package com.misuzu.dto;
+
+import com.misuzu.entity.VideoStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 视频处理进度事件
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoProgressEvent {
+
+    public static final String QUEUED = "queued";
+    public static final String PROBE = "probe";
+    public static final String THUMBNAIL = "thumbnail";
+    public static final String DECODE = "decode";
+    public static final String TRAJECTORY = "trajectory";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    /**
+     * 处理失败但还有剩余尝试次数，任务已按退避时长重新入队，不是最终事件
+     */
+    public static final String RETRYING = "retrying";
+
+    private Integer videoId;
+
+    /**
+     * 处理阶段：queued、probe、thumbnail、decode、trajectory、retrying、done、failed
+     */
+    private String stage;
+
+    /**
+     * 阶段内进度（0-100），只有decode阶段有值
+     */
+    private Integer percent;
+
+    private VideoStatus status;
+
+    private long timestamp;
+
+    /**
+     * 是否为最终事件，收到后服务端关闭连接
+     */
+    public boolean isTerminal() {
+        return DONE.equals(stage) || FAILED.equals(stage);
+    }
+}
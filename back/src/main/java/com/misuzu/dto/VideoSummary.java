@@ -0,0 +1,34 @@
+package com.misuzu.dto;
+
+import com.misuzu.entity.VideoStatus;
+
+import java.util.Date;
+
+/**
+ * 视频列表投影
+ * 只查询列表展示需要的列，不加载上传者实体，也不包含文件路径等内部字段
+ */
+public interface VideoSummary {
+
+    Integer getId();
+
+    /**
+     * 上传者ID，取自外键列，不关联users表
+     */
+    Integer getUserId();
+
+    String getTitle();
+
+    String getTrainingType();
+
+    String getThumbnailUrl();
+
+    /**
+     * 视频时长（秒）
+     */
+    Integer getDuration();
+
+    VideoStatus getStatus();
+
+    Date getCreatedAt();
+}
@@ -7,9 +7,16 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Set;
+
 @Getter
 @Setter
 public class VideoUploadDTO {
+    /**
+     * 允许上传的视频类型，需与file字段上的@FileType保持一致
+     */
+    public static final Set<String> ALLOWED_CONTENT_TYPES = Set.of("video/mp4", "video/avi", "video/quicktime");
+
     @NotNull(message = "用户ID不能为空")
     private Integer userId;
 
@@ -18,6 +25,11 @@ public class VideoUploadDTO {
 
     private String description;
 
+    /**
+     * 训练类型，如正手攻球、发球，可为空
+     */
+    private String trainingType;
+
     @NotNull(message = "视频文件不能为空")
     @FileType(
             allowed = {"video/mp4", "video/avi", "video/quicktime"},
@@ -0,0 +1,57 @@
+package com.misuzu.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 落点热力图实体类
+ * 对应数据库中的heatmaps表，每个用户每种训练类型一行，视频分析完成时增量累加
+ */
+@Entity
+@Table(name = "heatmaps")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Heatmap {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "heatmap_id")
+    private Integer id;
+
+    private Integer userId;
+
+    /**
+     * 训练类型，ALL表示该用户的全部视频
+     */
+    private String trainingType;
+
+    private int gridColumns;
+    private int gridRows;
+
+    /**
+     * 各网格的落点计数，按行优先排列的小端序long数组
+     */
+    @Lob
+    @Column(columnDefinition = "LONGBLOB")
+    private byte[] counts;
+
+    /**
+     * 落点总数
+     */
+    private long total;
+
+    /**
+     * 已累加的视频数
+     */
+    private int videoCount;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+}
@@ -0,0 +1,57 @@
+package com.misuzu.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 训练分析报告实体类
+ * 对应数据库中的reports表，章节按顺序存放在report_sections表
+ */
+@Entity
+@Table(name = "reports")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Report {
+
+    /**
+     * 报告ID，由数据库自增生成，并发保存时不会重复且单调递增
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "report_id")
+    private Long id;
+
+    /**
+     * 大模型生成的标题长度不受控制，使用TEXT避免超过255字符时保存失败
+     */
+    @Column(columnDefinition = "TEXT")
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(columnDefinition = "TEXT")
+    private String conclusion;
+
+    @Column(columnDefinition = "TEXT")
+    private String suggestions;
+
+    @ElementCollection
+    @CollectionTable(name = "report_sections", joinColumns = @JoinColumn(name = "report_id"))
+    @OrderColumn(name = "position")
+    @Builder.Default
+    private List<ReportSection> sections = new ArrayList<>();
+
+    private Date createdAt;
+
+    private Date updatedAt;
+}
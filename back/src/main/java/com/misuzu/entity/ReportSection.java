@@ -0,0 +1,26 @@
+package com.misuzu.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 报告章节，按position顺序存放在report_sections表
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSection {
+
+    /**
+     * 大模型生成的标题长度不受控制，使用TEXT避免超过255字符时保存失败
+     */
+    @Column(columnDefinition = "TEXT")
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+}
@@ -0,0 +1,85 @@
+package com.misuzu.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 分片上传会话实体类
+ * 对应数据库中的upload_sessions表，记录断点续传的进度
+ */
+@Entity
+@Table(name = "upload_sessions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+
+    /**
+     * 上传会话ID（UUID）
+     */
+    @Id
+    @Column(name = "upload_id", length = 36)
+    private String id;
+
+    private Integer userId;
+
+    private String title;
+    private String description;
+    private String trainingType;
+    private String originalFilename;
+    private String contentType;
+
+    /**
+     * 文件总大小（字节）
+     */
+    private long totalSize;
+
+    /**
+     * 分片大小（字节），最后一个分片可以更小
+     */
+    private int chunkSize;
+
+    /**
+     * 预分配的目标文件路径
+     */
+    private String filePath;
+
+    /**
+     * 已接收分片的位图，对应BitSet.toByteArray()
+     */
+    @Lob
+    @Column(columnDefinition = "LONGBLOB")
+    private byte[] receivedChunks;
+
+    /**
+     * 正在写入的分片数，不为0时拒绝完成上传
+     */
+    private int inflightWrites;
+
+    /**
+     * 完成后生成的视频ID
+     */
+    private Integer videoId;
+
+    @Enumerated(EnumType.STRING)
+    private UploadSessionStatus status;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
+    /**
+     * 分片总数
+     */
+    public int getTotalChunks() {
+        return (int) ((totalSize + chunkSize - 1) / chunkSize);
+    }
+}
@@ -0,0 +1,5 @@
+package com.misuzu.entity;
+
+public enum UploadSessionStatus {
+    UPLOADING, FINALIZING, COMPLETED, ABORTED, FAILED
+}
@@ -1,10 +1,13 @@
 package com.misuzu.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.Date;
 
@@ -21,18 +24,71 @@ public class Video {
     @Column(name = "video_id")
     private Integer id;
 
-    @ManyToOne
+    /**
+     * 上传者，按需加载；列表查询使用VideoSummary投影，不加载用户
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     private String title;
     private String description;
+
+    /**
+     * 训练类型，如正手攻球、发球，可为空
+     */
+    private String trainingType;
+
     private String fileUrl;
     private String thumbnailUrl;
+
+    /**
+     * 拖动预览用的雪碧图路径
+     */
+    private String spriteUrl;
+
+    /**
+     * HLS主播放列表路径，未转码时为空
+     */
+    private String hlsUrl;
+
+    /**
+     * 球轨迹文件路径
+     */
+    private String trajectoryUrl;
+
+    /**
+     * 画面静止、跳过球体检测的时间区间，JSON数组，元素为{fromMillis, toMillis}
+     */
+    @Column(columnDefinition = "TEXT")
+    private String staticIntervals;
+
     private Integer duration;
+
+    /**
+     * 以下为容器头探测得到的流参数，供分析阶段确定缓冲区大小和采样率
+     */
+    private Double frameRate;
+    private Integer width;
+    private Integer height;
+    private String videoCodec;
+
+    /**
+     * 码率（比特/秒）
+     */
+    private Long bitRate;
+
     //private Integer views;
     //private String tags;
-    private int fileSize;
+    private long fileSize;
+
+    /**
+     * 文件内容的SHA-256，相同内容的视频共享同一文件
+     */
+    private String contentHash;
 
     private String videoType;
 
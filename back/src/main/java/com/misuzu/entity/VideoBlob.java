@@ -0,0 +1,41 @@
+package com.misuzu.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 视频内容实体类
+ * 对应数据库中的video_blobs表，按内容SHA-256存储，多个视频可引用同一文件
+ */
+@Entity
+@Table(name = "video_blobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoBlob {
+
+    /**
+     * 文件内容的SHA-256
+     */
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    private String filePath;
+
+    private long size;
+
+    /**
+     * 引用该文件的视频数量
+     */
+    private int refCount;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+}
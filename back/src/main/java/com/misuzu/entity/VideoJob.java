@@ -0,0 +1,62 @@
+package com.misuzu.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 视频处理任务实体类
+ * 对应数据库中的video_jobs表，每个视频一行。任务由各节点通过SELECT ... FOR UPDATE SKIP LOCKED领取，
+ * 领取后持有租约，节点崩溃导致租约过期时任务重新入队
+ */
+@Entity
+@Table(name = "video_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoJob {
+
+    @Id
+    @Column(name = "video_id")
+    private Integer videoId;
+
+    /**
+     * 优先级，数值越大越先处理
+     */
+    private int priority;
+
+    @Enumerated(EnumType.STRING)
+    private VideoJobStatus status;
+
+    /**
+     * 已领取次数
+     */
+    private int attempts;
+
+    /**
+     * 持有租约的节点
+     */
+    private String leaseOwner;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date leaseExpiresAt;
+
+    /**
+     * 最早可领取时间，重试时用于退避
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date availableAt;
+
+    private String lastError;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.misuzu.entity;
+
+/**
+ * 视频处理任务状态
+ */
+public enum VideoJobStatus {
+    QUEUED, RUNNING, DONE, FAILED
+}
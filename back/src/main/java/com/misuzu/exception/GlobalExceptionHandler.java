@@ -3,6 +3,7 @@ package com.misuzu.exception;
 import com.misuzu.common.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -87,6 +88,21 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(409, message);
     }
 
+    /**
+     * 处理过载异常，返回429及Retry-After
+     *
+     * @param ex 过载异常
+     * @return 包含错误信息的响应
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<?>> handleTooManyRequestsException(TooManyRequestsException ex) {
+        log.warn("拒绝请求: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(ex.getCode(), ex.getMessage()));
+    }
+
     /**
      * 处理自定义业务异常
      * 
@@ -0,0 +1,28 @@
+package com.misuzu.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * 过载异常
+ * 服务端负载超过阈值时拒绝请求，返回429并通过Retry-After告知客户端重试间隔
+ */
+@Getter
+public class TooManyRequestsException extends BusinessException {
+
+    /**
+     * 建议的重试间隔（秒）
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * 创建过载异常
+     *
+     * @param message 错误消息
+     * @param retryAfterSeconds 建议的重试间隔（秒）
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
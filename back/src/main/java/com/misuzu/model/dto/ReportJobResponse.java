@@ -0,0 +1,46 @@
+package com.misuzu.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 报告生成任务DTO
+ * 提交、轮询和SSE推送都返回该结构，任务完成后result为生成的报告内容
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobResponse {
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+
+    private ReportJobStatus status;
+
+    /**
+     * 生成结果，仅在DONE状态下有值
+     */
+    private ReportModelResponse result;
+
+    /**
+     * 失败原因，仅在FAILED状态下有值
+     */
+    private String error;
+
+    private Date createdAt;
+    private Date startedAt;
+    private Date finishedAt;
+
+    @JsonIgnore
+    public boolean isTerminal() {
+        return status != null && status.isTerminal();
+    }
+}
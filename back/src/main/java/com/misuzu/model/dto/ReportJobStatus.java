@@ -0,0 +1,15 @@
+package com.misuzu.model.dto;
+
+/**
+ * 报告生成任务状态
+ */
+public enum ReportJobStatus {
+    QUEUED, RUNNING, DONE, FAILED;
+
+    /**
+     * 是否为最终状态
+     */
+    public boolean isTerminal() {
+        return this == DONE || this == FAILED;
+    }
+}
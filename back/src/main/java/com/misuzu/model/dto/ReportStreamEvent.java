@@ -0,0 +1,49 @@
+package com.misuzu.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 流式报告生成事件
+ * 顶层字段、每个章节在大模型输出完整后立即推送，最后推送完整报告
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportStreamEvent {
+
+    public static final String FIELD = "field";
+    public static final String SECTION = "section";
+    public static final String DONE = "done";
+    public static final String ERROR = "error";
+
+    /**
+     * 事件类型：field、section、done、error
+     */
+    private String type;
+
+    /**
+     * 字段名（title、summary、conclusion、suggestions），type为field时有值
+     */
+    private String field;
+
+    private String value;
+
+    /**
+     * 章节序号及内容，type为section时有值
+     */
+    private Integer index;
+    private ReportModelResponse.Section section;
+
+    /**
+     * 完整报告，type为done时有值
+     */
+    private ReportModelResponse report;
+
+    private String error;
+}
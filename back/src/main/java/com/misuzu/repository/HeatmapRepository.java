@@ -0,0 +1,56 @@
+package com.misuzu.repository;
+
+import com.misuzu.entity.Heatmap;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * 落点热力图数据访问接口
+ */
+public interface HeatmapRepository extends JpaRepository<Heatmap, Integer> {
+
+    Optional<Heatmap> findByUserIdAndTrainingType(Integer userId, String trainingType);
+
+    /**
+     * 热力图不存在时插入空记录，已存在时不做任何修改
+     *
+     * @return 影响行数
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO heatmaps (user_id, training_type, grid_columns, grid_rows, counts, total, "
+            + "video_count, updated_at) VALUES (:userId, :trainingType, :columns, :rows, :counts, 0, 0, :updatedAt)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Integer userId,
+                       @Param("trainingType") String trainingType,
+                       @Param("columns") int columns,
+                       @Param("rows") int rows,
+                       @Param("counts") byte[] counts,
+                       @Param("updatedAt") Date updatedAt);
+
+    /**
+     * 登记视频已计入热力图，视频已登记过时不插入
+     * 与累加在同一事务中执行，租约过期或重试导致视频重新处理时不会重复计数
+     *
+     * @param videoId 视频ID
+     * @param recordedAt 计入时间
+     * @return 影响行数，0表示视频已计入过
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO heatmap_videos (video_id, recorded_at) VALUES (:videoId, :recordedAt)",
+            nativeQuery = true)
+    int markRecorded(@Param("videoId") Integer videoId, @Param("recordedAt") Date recordedAt);
+
+    /**
+     * 加行锁读取热力图，用于并发累加
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Heatmap h WHERE h.userId = :userId AND h.trainingType = :trainingType")
+    Optional<Heatmap> findForUpdate(@Param("userId") Integer userId, @Param("trainingType") String trainingType);
+}
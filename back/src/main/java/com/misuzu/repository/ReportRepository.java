@@ -0,0 +1,19 @@
+package com.misuzu.repository;
+
+import com.misuzu.entity.Report;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ReportRepository extends JpaRepository<Report, Long> {
+
+    /**
+     * 读取报告及全部章节，一次查询完成
+     *
+     * @param id 报告ID
+     * @return 报告
+     */
+    @EntityGraph(attributePaths = "sections")
+    Optional<Report> findWithSectionsById(Long id);
+}
@@ -0,0 +1,24 @@
+package com.misuzu.repository;
+
+import com.misuzu.entity.UploadSession;
+import com.misuzu.entity.UploadSessionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 分片上传会话数据访问接口
+ */
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    /**
+     * 查询指定状态下长时间没有更新的会话，用于清理已放弃的上传
+     *
+     * @param statuses 会话状态
+     * @param updatedBefore 最后更新时间上限
+     * @return 上传会话列表
+     */
+    List<UploadSession> findByStatusInAndUpdatedAtBefore(Collection<UploadSessionStatus> statuses, Date updatedBefore);
+}
@@ -0,0 +1,49 @@
+package com.misuzu.repository;
+
+import com.misuzu.entity.VideoBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * 视频内容数据访问接口
+ */
+public interface VideoBlobRepository extends JpaRepository<VideoBlob, String> {
+
+    /**
+     * 增加引用计数，内容不存在时插入新记录
+     * 使用单条语句完成，避免相同内容并发上传时主键冲突
+     *
+     * @param sha256 内容哈希
+     * @param filePath 文件路径
+     * @param size 文件大小
+     * @param createdAt 创建时间
+     * @return 影响行数
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO video_blobs (sha256, file_path, size, ref_count, created_at) "
+            + "VALUES (:sha256, :filePath, :size, 1, :createdAt) "
+            + "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    int acquire(@Param("sha256") String sha256,
+                @Param("filePath") String filePath,
+                @Param("size") long size,
+                @Param("createdAt") Date createdAt);
+
+    /**
+     * 加行锁读取内容记录，用于释放引用
+     *
+     * @param sha256 内容哈希
+     * @return 内容记录
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM VideoBlob b WHERE b.sha256 = :sha256")
+    Optional<VideoBlob> findByIdForUpdate(@Param("sha256") String sha256);
+}
@@ -0,0 +1,79 @@
+package com.misuzu.repository;
+
+import com.misuzu.entity.VideoJob;
+import com.misuzu.entity.VideoJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 视频处理任务数据访问接口
+ */
+public interface VideoJobRepository extends JpaRepository<VideoJob, Integer> {
+
+    long countByStatus(VideoJobStatus status);
+
+    /**
+     * 按优先级领取可执行的任务，已被其他节点锁定的行直接跳过，需在事务中调用
+     *
+     * @param now 当前时间
+     * @param limit 最多领取数量
+     * @return 已加锁的任务
+     */
+    @Query(value = "SELECT * FROM video_jobs WHERE status = 'QUEUED' AND available_at <= :now "
+            + "ORDER BY priority DESC, created_at ASC LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<VideoJob> lockQueued(@Param("now") Date now, @Param("limit") int limit);
+
+    /**
+     * 锁定租约已过期的运行中任务，需在事务中调用
+     *
+     * @param now 当前时间
+     * @return 已加锁的任务
+     */
+    @Query(value = "SELECT * FROM video_jobs WHERE status = 'RUNNING' AND lease_expires_at < :now "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<VideoJob> lockExpired(@Param("now") Date now);
+
+    /**
+     * 延长本节点正在执行的任务的租约
+     *
+     * @param owner 节点标识
+     * @param videoIds 正在执行的视频ID
+     * @param expiresAt 新的过期时间
+     * @return 更新行数
+     */
+    @Modifying
+    @Query("UPDATE VideoJob j SET j.leaseExpiresAt = :expiresAt WHERE j.leaseOwner = :owner "
+            + "AND j.status = com.misuzu.entity.VideoJobStatus.RUNNING AND j.videoId IN :videoIds")
+    int renewLeases(@Param("owner") String owner,
+                    @Param("videoIds") Collection<Integer> videoIds,
+                    @Param("expiresAt") Date expiresAt);
+
+    /**
+     * 把没有运行中任务的PROCESSING视频恢复为PENDING，用于升级前遗留或处理线程意外退出的视频
+     *
+     * @return 更新行数
+     */
+    @Modifying
+    @Query(value = "UPDATE videos v SET v.status = 'PENDING' WHERE v.status = 'PROCESSING' AND NOT EXISTS "
+            + "(SELECT 1 FROM video_jobs j WHERE j.video_id = v.video_id AND j.status = 'RUNNING')",
+            nativeQuery = true)
+    int resetOrphanedVideos();
+
+    /**
+     * 为没有任务记录的PENDING、PROCESSING视频补建任务，用于升级前遗留的视频
+     *
+     * @param now 当前时间
+     * @return 插入行数
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO video_jobs (video_id, priority, status, attempts, available_at, created_at, "
+            + "updated_at) SELECT v.video_id, 0, 'QUEUED', 0, :now, :now, :now FROM videos v "
+            + "WHERE v.status IN ('PENDING', 'PROCESSING')", nativeQuery = true)
+    int enqueueOrphans(@Param("now") Date now);
+}
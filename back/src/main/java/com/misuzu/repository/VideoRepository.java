@@ -4,10 +4,77 @@ package com.misuzu.repository;
 import com.misuzu.entity.Video;
 import com.misuzu.entity.VideoStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+
+public interface VideoRepository extends JpaRepository<Video, Integer>, VideoRepositoryCustom {
+
+    /**
+     * 查找相同内容中最早完成分析的视频，用于重复上传时复用分析结果
+     *
+     * @param contentHash 内容SHA-256
+     * @param status 视频状态
+     * @return 视频记录
+     */
+    Optional<Video> findFirstByContentHashAndStatusOrderByIdAsc(String contentHash, VideoStatus status);
+
+    /**
+     * 是否还有视频引用该轨迹文件，复用分析结果的视频与原视频共用同一个轨迹文件
+     *
+     * @param trajectoryUrl 轨迹文件路径
+     * @return 存在引用时返回true
+     */
+    boolean existsByTrajectoryUrl(String trajectoryUrl);
+
+    /**
+     * 批量查询指定内容中已处理完成的视频
+     *
+     * @param contentHashes 内容哈希集合
+     * @param status 视频状态
+     * @return 视频列表
+     */
+    List<Video> findByContentHashInAndStatus(Collection<String> contentHashes, VideoStatus status);
+
+    /**
+     * 仅当视频处于指定状态时更新状态，用于后台处理时抢占视频，避免重复处理
+     *
+     * @param id 视频ID
+     * @param expected 期望的当前状态
+     * @param target 目标状态
+     * @param updatedAt 更新时间
+     * @return 更新行数，0表示状态已被其他线程修改
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Video v SET v.status = :target, v.updatedAt = :updatedAt WHERE v.id = :id AND v.status = :expected")
+    int compareAndSetStatus(@Param("id") Integer id,
+                            @Param("expected") VideoStatus expected,
+                            @Param("target") VideoStatus target,
+                            @Param("updatedAt") Date updatedAt);
 
-public interface VideoRepository extends JpaRepository<Video, Integer> {
-    // 添加自定义查询方法
-    List<Video> findByUserId(Integer userId);
-    List<Video> findByStatusOrderByCreatedAtDesc(VideoStatus status);
-}
\ No newline at end of file
+    /**
+     * 更新HLS主播放列表路径，只修改该字段，不覆盖其他并发更新
+     * 转码期间重复上传并复用了分析结果的视频与原视频内容相同，一并更新
+     *
+     * @param id 视频ID
+     * @param contentHash 视频内容哈希，为null时只更新该视频
+     * @param hlsUrl 主播放列表路径
+     * @param updatedAt 更新时间
+     * @return 更新行数
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Video v SET v.hlsUrl = :hlsUrl, v.updatedAt = :updatedAt "
+            + "WHERE v.id = :id OR v.contentHash = :contentHash")
+    int updateHlsUrl(@Param("id") Integer id,
+                     @Param("contentHash") String contentHash,
+                     @Param("hlsUrl") String hlsUrl,
+                     @Param("updatedAt") Date updatedAt);
+}
@@ -0,0 +1,31 @@
+package com.misuzu.repository;
+
+import com.misuzu.dto.VideoSummary;
+import com.misuzu.entity.VideoStatus;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 视频数据访问的自定义查询，条件随参数动态拼接
+ */
+public interface VideoRepositoryCustom {
+
+    /**
+     * 按(createdAt, id)倒序做游标分页，从上一页最后一行之后继续读取，不使用OFFSET
+     * 只拼接非空的条件，不使用(:x IS NULL OR ...)形式的万能条件，
+     * 按用户、状态或只按时间过滤时分别走(user_id, created_at)、(status, created_at)、(created_at, video_id)索引
+     *
+     * @param userId 用户ID
+     * @param status 视频状态
+     * @param trainingType 训练类型
+     * @param from 上传时间起始（包含）
+     * @param to 上传时间截止（不包含）
+     * @param cursorTime 上一页最后一行的上传时间，为空时从第一页开始
+     * @param cursorId 上一页最后一行的视频ID
+     * @param limit 最多返回的行数
+     * @return 视频列表投影
+     */
+    List<VideoSummary> findPage(Integer userId, VideoStatus status, String trainingType, Date from, Date to,
+                                Date cursorTime, Integer cursorId, int limit);
+}
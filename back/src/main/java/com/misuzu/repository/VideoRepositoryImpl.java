@@ -0,0 +1,85 @@
+package com.misuzu.repository;
+
+import com.misuzu.dto.VideoSummary;
+import com.misuzu.entity.VideoStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * VideoRepositoryCustom的实现，由Spring Data按Impl后缀自动合并到VideoRepository
+ */
+public class VideoRepositoryImpl implements VideoRepositoryCustom {
+
+    private static final String SELECT_SUMMARY = "SELECT v.id AS id, v.user.id AS userId, v.title AS title, "
+            + "v.trainingType AS trainingType, v.thumbnailUrl AS thumbnailUrl, v.duration AS duration, "
+            + "v.status AS status, v.createdAt AS createdAt FROM Video v";
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<VideoSummary> findPage(Integer userId, VideoStatus status, String trainingType, Date from, Date to,
+                                       Date cursorTime, Integer cursorId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        if (userId != null) {
+            conditions.add("v.user.id = :userId");
+            params.put("userId", userId);
+        }
+        if (status != null) {
+            conditions.add("v.status = :status");
+            params.put("status", status);
+        }
+        if (trainingType != null) {
+            conditions.add("v.trainingType = :trainingType");
+            params.put("trainingType", trainingType);
+        }
+        if (from != null) {
+            conditions.add("v.createdAt >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            conditions.add("v.createdAt < :to");
+            params.put("to", to);
+        }
+        if (cursorTime != null) {
+            conditions.add("(v.createdAt < :cursorTime OR (v.createdAt = :cursorTime AND v.id < :cursorId))");
+            params.put("cursorTime", cursorTime);
+            params.put("cursorId", cursorId);
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECT_SUMMARY);
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY v.createdAt DESC, v.id DESC");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit);
+
+        List<VideoSummary> rows = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                values.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(projectionFactory.createProjection(VideoSummary.class, values));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,31 @@
+package com.misuzu.service;
+
+import com.misuzu.dto.AdmissionLoad;
+
+/**
+ * 上传准入控制服务接口
+ * 跟踪正在进行的上传字节数、处理队列深度和磁盘剩余空间，超过阈值时拒绝新的上传
+ */
+public interface AdmissionControlService {
+
+    /**
+     * 登记一个上传请求，超过阈值时抛出TooManyRequestsException
+     *
+     * @param bytes 请求体字节数，未知时为0
+     */
+    void acquireUpload(long bytes);
+
+    /**
+     * 上传请求结束后释放登记的额度
+     *
+     * @param bytes 登记时的字节数
+     */
+    void releaseUpload(long bytes);
+
+    /**
+     * 当前负载
+     *
+     * @return 各项指标及阈值
+     */
+    AdmissionLoad getLoad();
+}
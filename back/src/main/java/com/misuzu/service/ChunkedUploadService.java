@@ -0,0 +1,56 @@
+package com.misuzu.service;
+
+import com.misuzu.dto.UploadSessionRequest;
+import com.misuzu.dto.UploadSessionResponse;
+import com.misuzu.entity.Video;
+
+import java.io.InputStream;
+
+/**
+ * 分片上传服务接口
+ * 支持断点续传：创建会话、并行上传分片、查询进度、合并完成
+ */
+public interface ChunkedUploadService {
+
+    /**
+     * 创建上传会话并预分配目标文件
+     *
+     * @param request 会话创建请求
+     * @return 会话状态
+     */
+    UploadSessionResponse createSession(UploadSessionRequest request);
+
+    /**
+     * 写入一个分片
+     *
+     * @param uploadId 上传会话ID
+     * @param index 分片序号，从0开始
+     * @param contentLength 请求体长度，未知时为-1
+     * @param body 分片数据
+     * @return 会话状态
+     */
+    UploadSessionResponse writeChunk(String uploadId, int index, long contentLength, InputStream body);
+
+    /**
+     * 查询上传会话状态及已接收区间
+     *
+     * @param uploadId 上传会话ID
+     * @return 会话状态
+     */
+    UploadSessionResponse getSession(String uploadId);
+
+    /**
+     * 所有分片接收完毕后生成视频记录
+     *
+     * @param uploadId 上传会话ID
+     * @return 视频记录
+     */
+    Video complete(String uploadId);
+
+    /**
+     * 取消上传并删除已写入的数据
+     *
+     * @param uploadId 上传会话ID
+     */
+    void abort(String uploadId);
+}
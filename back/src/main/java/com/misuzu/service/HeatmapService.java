@@ -0,0 +1,32 @@
+package com.misuzu.service;
+
+import com.misuzu.dto.HeatmapResponse;
+import com.misuzu.entity.Video;
+
+/**
+ * 落点热力图服务接口
+ * 视频分析完成时把该视频的落点累加到用户的热力图，查询时直接读取累加结果
+ */
+public interface HeatmapService {
+
+    /**
+     * 训练类型为空时使用的汇总类型
+     */
+    String ALL_TRAINING_TYPES = "ALL";
+
+    /**
+     * 将视频的落点累加到所属用户的热力图（汇总及对应训练类型）
+     *
+     * @param video 已生成轨迹的视频
+     */
+    void recordVideo(Video video);
+
+    /**
+     * 查询用户的热力图
+     *
+     * @param userId 用户ID
+     * @param trainingType 训练类型，为空时返回全部视频的汇总
+     * @return 热力图，尚无数据时计数全为0
+     */
+    HeatmapResponse getHeatmap(Integer userId, String trainingType);
+}
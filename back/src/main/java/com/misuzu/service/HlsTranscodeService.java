@@ -0,0 +1,37 @@
+package com.misuzu.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * HLS转码服务接口
+ * 将视频转码为多个清晰度的HLS分片，供平板等设备在弱网环境下播放
+ */
+public interface HlsTranscodeService {
+
+    /**
+     * 是否启用转码阶段
+     *
+     * @return 启用时返回true
+     */
+    boolean isEnabled();
+
+    /**
+     * 提交视频到转码线程池，完成后更新视频及相同内容的视频的主播放列表路径
+     *
+     * @param videoId 视频ID
+     * @param contentHash 视频内容哈希，可为null
+     * @param videoPath 视频文件路径
+     */
+    void submit(Integer videoId, String contentHash, Path videoPath);
+
+    /**
+     * 在当前线程中转码，一次解码同时输出所有清晰度；失败时删除已写出的分片和播放列表
+     *
+     * @param videoId 视频ID
+     * @param videoPath 视频文件路径
+     * @return 主播放列表路径
+     * @throws IOException 读取或写入失败
+     */
+    String transcode(Integer videoId, Path videoPath) throws IOException;
+}
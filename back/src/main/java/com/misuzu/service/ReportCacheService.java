@@ -0,0 +1,59 @@
+package com.misuzu.service;
+
+import com.misuzu.dto.ReportCacheStats;
+import com.misuzu.model.dto.ReportModelRequest;
+import com.misuzu.model.dto.ReportModelResponse;
+
+/**
+ * 大模型报告结果缓存服务接口
+ * 以规范化后的请求内容和训练数据版本为键，相同请求在训练数据未变化时直接返回上次的生成结果
+ */
+public interface ReportCacheService {
+
+    /**
+     * 缓存键，生成时记录当时的训练数据版本
+     * 调用大模型之前生成一次，查询和写入使用同一个键，调用期间训练数据变化时写入会被丢弃
+     *
+     * @param digest 规范化请求与训练数据版本的SHA-256
+     * @param version 生成键时的训练数据版本
+     */
+    record Key(String digest, long version) {
+    }
+
+    /**
+     * 按当前训练数据版本生成缓存键
+     *
+     * @param request 报告生成请求
+     * @return 缓存键
+     */
+    Key key(ReportModelRequest request);
+
+    /**
+     * 查询缓存
+     *
+     * @param key 缓存键
+     * @return 缓存的生成结果，未命中或已过期返回null
+     */
+    ReportModelResponse get(Key key);
+
+    /**
+     * 写入缓存，键生成之后训练数据已变化时不写入
+     *
+     * @param key 调用大模型之前生成的缓存键
+     * @param response 大模型生成并成功解析的结果
+     */
+    void put(Key key, ReportModelResponse response);
+
+    /**
+     * 训练数据发生变化（有视频分析完成）时调用，之后的请求不再命中变化前的结果
+     * 处于事务中时在提交后生效，避免在数据可见之前按新版本缓存旧数据的结果
+     */
+    void invalidateAll();
+
+    /**
+     * 缓存命中统计
+     *
+     * @return 统计信息
+     */
+    ReportCacheStats getStats();
+}
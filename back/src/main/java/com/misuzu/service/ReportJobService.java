@@ -0,0 +1,36 @@
+package com.misuzu.service;
+
+import com.misuzu.model.dto.ReportJobResponse;
+import com.misuzu.model.dto.ReportModelRequest;
+import reactor.core.publisher.Flux;
+
+/**
+ * 报告生成任务服务接口
+ * 提交后立即返回任务ID，生成在后台线程池中进行，结果通过轮询或SSE获取
+ */
+public interface ReportJobService {
+
+    /**
+     * 提交报告生成任务
+     *
+     * @param request 报告生成请求
+     * @return 刚创建的任务
+     */
+    ReportJobResponse submit(ReportModelRequest request);
+
+    /**
+     * 查询任务状态及结果
+     *
+     * @param jobId 任务ID
+     * @return 任务
+     */
+    ReportJobResponse getJob(String jobId);
+
+    /**
+     * 订阅任务状态变化，先推送当前状态，任务结束后完成
+     *
+     * @param jobId 任务ID
+     * @return 状态流
+     */
+    Flux<ReportJobResponse> subscribe(String jobId);
+}
@@ -2,6 +2,8 @@ package com.misuzu.service;
 
 import com.misuzu.model.dto.ReportModelRequest;
 import com.misuzu.model.dto.ReportModelResponse;
+import com.misuzu.model.dto.ReportStreamEvent;
+import reactor.core.publisher.Flux;
 
 /**
  * 报告服务接口
@@ -15,6 +17,15 @@ public interface ReportService {
      * @return 模型分析生成的报告内容
      */
     ReportModelResponse generateModelAnalysis(ReportModelRequest request);
+
+    /**
+     * 流式生成报告内容，大模型每输出完一个字段或章节即推送，最后推送完整报告
+     * 生成任务在返回之前提交到报告线程池，线程池已满时抛出TooManyRequestsException
+     *
+     * @param request 报告生成请求数据
+     * @return 生成事件流
+     */
+    Flux<ReportStreamEvent> streamModelAnalysis(ReportModelRequest request);
     
     /**
      * 保存报告内容
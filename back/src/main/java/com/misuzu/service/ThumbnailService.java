@@ -0,0 +1,24 @@
+package com.misuzu.service;
+
+import com.misuzu.dto.ThumbnailResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 视频缩略图服务接口
+ * 负责从视频中抽取封面、海报帧和雪碧图
+ */
+public interface ThumbnailService {
+
+    /**
+     * 在一次解码会话中生成封面缩略图、海报帧和雪碧图
+     * 输出文件位于缩略图目录下以视频ID命名的子目录中
+     *
+     * @param videoId 视频ID
+     * @param videoPath 视频文件路径
+     * @return 生成结果
+     * @throws IOException 读取视频或写入图片失败
+     */
+    ThumbnailResult generate(Integer videoId, Path videoPath) throws IOException;
+}
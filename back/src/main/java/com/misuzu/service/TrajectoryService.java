@@ -0,0 +1,47 @@
+package com.misuzu.service;
+
+import com.misuzu.dto.TrajectoryAnalysis;
+import com.misuzu.dto.TrajectoryPoint;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * 球轨迹分析服务接口
+ * 逐帧检测乒乓球位置，输出带时间戳的轨迹点
+ */
+public interface TrajectoryService {
+
+    /**
+     * 检测视频中每一帧的球位置
+     *
+     * @param videoPath 视频文件路径
+     * @return 按时间顺序排列的轨迹点，未检测到球的帧不输出
+     * @throws IOException 读取视频失败
+     */
+    List<TrajectoryPoint> detect(Path videoPath) throws IOException;
+
+    /**
+     * 检测轨迹并以列式二进制格式保存到轨迹目录，文件按视频ID命名
+     * 相同内容的视频共用同一个内容文件，轨迹不能存放在内容文件旁，否则重复上传的视频同时处理时会写同一个文件
+     *
+     * @param videoId 视频ID
+     * @param videoPath 视频文件路径
+     * @param progress 解码进度回调（0-100），可能在多个分析线程中调用
+     * @return 轨迹文件路径、帧数及因画面静止跳过检测的区间
+     * @throws IOException 读取视频或写入轨迹失败
+     */
+    TrajectoryAnalysis analyse(Integer videoId, Path videoPath, IntConsumer progress) throws IOException;
+
+    /**
+     * 读取视频在时间窗口内的轨迹点
+     *
+     * @param videoId 视频ID
+     * @param fromMillis 起始时间（毫秒，包含），为空表示从头开始
+     * @param toMillis 结束时间（毫秒，不包含），为空表示到结尾
+     * @return 轨迹点列表
+     */
+    List<TrajectoryPoint> getTrajectory(Integer videoId, Long fromMillis, Long toMillis);
+}
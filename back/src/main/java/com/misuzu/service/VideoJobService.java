@@ -0,0 +1,43 @@
+package com.misuzu.service;
+
+import com.misuzu.entity.Video;
+
+import java.util.List;
+
+/**
+ * 视频处理任务队列服务接口
+ * 任务持久化在video_jobs表中，JVM重启或节点崩溃后未完成的视频会被重新处理；
+ * 多个后端节点共享同一队列，各自按空闲线程数领取任务
+ */
+public interface VideoJobService {
+
+    /**
+     * 为视频创建处理任务，教练和管理员上传的视频优先处理
+     * 处于事务中时与视频记录一同提交，提交后立即唤醒调度
+     *
+     * @param video 已保存的视频
+     */
+    void enqueue(Video video);
+
+    /**
+     * 批量创建处理任务，一次批量插入写入全部任务，提交后只唤醒一次调度
+     *
+     * @param videos 已保存的视频
+     */
+    void enqueueAll(List<Video> videos);
+
+    /**
+     * 按本节点空闲线程数领取任务并提交到处理线程池
+     */
+    void dispatch();
+
+    /**
+     * 延长本节点正在执行的任务的租约
+     */
+    void renewLeases();
+
+    /**
+     * 将租约过期的任务重新入队，超过最大尝试次数的任务标记为失败
+     */
+    void requeueExpired();
+}
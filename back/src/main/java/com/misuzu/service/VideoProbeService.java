@@ -0,0 +1,22 @@
+package com.misuzu.service;
+
+import com.misuzu.dto.VideoProbeResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 视频探测服务接口
+ * 从容器头读取时长、帧率、分辨率、编码和码率
+ */
+public interface VideoProbeService {
+
+    /**
+     * 探测视频元数据，不抓取任何帧
+     *
+     * @param videoPath 视频文件路径
+     * @return 探测结果
+     * @throws IOException 文件无法识别或读取失败
+     */
+    VideoProbeResult probe(Path videoPath) throws IOException;
+}
@@ -0,0 +1,15 @@
+package com.misuzu.service;
+
+/**
+ * 视频后台处理服务接口
+ * 负责将PENDING状态的视频依次推进到PROCESSING、COMPLETED或FAILED，由VideoJobService调度
+ */
+public interface VideoProcessingService {
+
+    /**
+     * 在当前线程中执行完整的处理流程
+     *
+     * @param videoId 视频ID
+     */
+    void process(Integer videoId);
+}
@@ -0,0 +1,31 @@
+package com.misuzu.service;
+
+import com.misuzu.dto.VideoProgressEvent;
+import com.misuzu.entity.VideoStatus;
+import reactor.core.publisher.Flux;
+
+/**
+ * 视频处理进度服务接口
+ * 进程内发布/订阅，处理流程发布阶段变化，客户端通过SSE订阅，不再轮询videos表
+ */
+public interface VideoProgressService {
+
+    /**
+     * 发布进度，没有订阅者时直接丢弃
+     *
+     * @param videoId 视频ID
+     * @param stage 处理阶段
+     * @param percent 阶段内进度（0-100），无进度时为null
+     * @param status 视频状态
+     */
+    void publish(Integer videoId, String stage, Integer percent, VideoStatus status);
+
+    /**
+     * 订阅视频的处理进度
+     * 首个事件为当前状态，视频处理结束（done或failed）后流完成
+     *
+     * @param videoId 视频ID
+     * @return 进度事件流
+     */
+    Flux<VideoProgressEvent> subscribe(Integer videoId);
+}
@@ -1,10 +1,61 @@
 package com.misuzu.service;
 
+import com.misuzu.dto.BatchUploadResult;
+import com.misuzu.dto.StoredFileInfo;
+import com.misuzu.dto.VideoIngestResult;
+import com.misuzu.dto.VideoListQuery;
+import com.misuzu.dto.VideoPage;
 import com.misuzu.dto.VideoUploadDTO;
 import com.misuzu.entity.Video;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.stereotype.Service;
 
 
 public interface VideoService {
     Video processVideoUpload(VideoUploadDTO videoDTO);
+
+    /**
+     * 流式上传：直接从请求体解析multipart并写入最终文件
+     *
+     * @param request 原始请求，表单字段需包含userId、title（trainingType可选），文件字段名为file
+     * @return 上传结果及写入指标
+     */
+    VideoIngestResult processStreamingUpload(HttpServletRequest request);
+
+    /**
+     * 批量流式上传：一个multipart请求包含多个文件，逐个写入存储后一次性批量插入视频记录并入队处理
+     *
+     * @param request 原始请求，表单字段需包含userId（trainingType、description可选），文件字段名为files
+     * @return 各文件的上传结果
+     */
+    BatchUploadResult processBatchUpload(HttpServletRequest request);
+
+    /**
+     * 分页查询视频列表，按上传时间倒序，使用游标分页，任意页的查询代价相同
+     *
+     * @param query 查询条件及游标
+     * @return 当前页及下一页游标
+     */
+    VideoPage listVideos(VideoListQuery query);
+
+    /**
+     * 为已落盘的视频文件创建视频记录
+     *
+     * @param userId 上传用户ID
+     * @param title 视频标题
+     * @param description 视频描述
+     * @param trainingType 训练类型，可为空
+     * @param stored 已落盘文件信息
+     * @param contentType 视频类型
+     * @return 保存后的视频记录
+     */
+    Video createVideo(Integer userId, String title, String description, String trainingType,
+                      StoredFileInfo stored, String contentType);
+
+    /**
+     * 删除视频记录并释放其引用的内容文件，没有其他视频引用时删除文件
+     *
+     * @param videoId 视频ID
+     */
+    void deleteVideo(Integer videoId);
 }
@@ -0,0 +1,75 @@
+package com.misuzu.service;
+
+import com.misuzu.dto.StoredFileInfo;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * 视频文件存储服务接口
+ * 负责将上传的视频写入存储目录，文件按内容SHA-256存放，相同内容只保存一份。
+ * store/commit返回时已在video_blobs中登记一个引用，调用方需将其交给视频记录，失败时调用release释放。
+ */
+public interface VideoStorageService {
+
+    /**
+     * 将字节通道中的数据直接写入存储目录，写入时同步计算SHA-256
+     *
+     * @param source 数据来源通道
+     * @param originalFilename 原始文件名
+     * @param maxBytes 允许写入的最大字节数，小于等于0表示不限制
+     * @return 已落盘文件信息
+     * @throws IOException 写入失败
+     */
+    StoredFileInfo store(ReadableByteChannel source, String originalFilename, long maxBytes) throws IOException;
+
+    /**
+     * 计算已落盘文件的SHA-256并移入内容目录，内容已存在时删除该文件
+     *
+     * @param file 已落盘文件，与存储目录位于同一文件系统
+     * @return 内容目录中的文件信息
+     * @throws IOException 读取或移动失败
+     */
+    StoredFileInfo commit(Path file) throws IOException;
+
+    /**
+     * 保存容器已解析的multipart文件
+     *
+     * @param file 上传文件
+     * @return 已落盘文件信息
+     * @throws IOException 写入失败
+     */
+    StoredFileInfo store(MultipartFile file) throws IOException;
+
+    /**
+     * 在存储目录中预分配指定大小的文件，供分片按偏移写入
+     *
+     * @param uploadId 上传会话ID，用作文件名
+     * @param size 文件总大小
+     * @return 预分配的文件路径
+     * @throws IOException 创建失败
+     */
+    Path allocate(String uploadId, long size) throws IOException;
+
+    /**
+     * 将字节通道中的数据写入文件的指定偏移位置，写入后强制落盘
+     *
+     * @param target 目标文件
+     * @param source 数据来源通道
+     * @param position 写入起始偏移
+     * @param count 期望写入的字节数
+     * @return 实际写入的字节数
+     * @throws IOException 写入失败
+     */
+    long writeAt(Path target, ReadableByteChannel source, long position, long count) throws IOException;
+
+    /**
+     * 释放一个内容引用，引用数归零时在事务提交后删除文件
+     * 在已有事务中调用时加入该事务
+     *
+     * @param sha256 内容哈希
+     */
+    void release(String sha256);
+}
@@ -0,0 +1,20 @@
+package com.misuzu.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 视频播放服务接口
+ * 支持Range/If-Range断点请求，供前端拖动进度条时按需读取
+ */
+public interface VideoStreamService {
+
+    /**
+     * 将视频文件（或其中一段）写入响应
+     *
+     * @param videoId 视频ID
+     * @param request 原始请求，读取Range、If-Range等请求头
+     * @param response 原始响应
+     */
+    void stream(Integer videoId, HttpServletRequest request, HttpServletResponse response);
+}
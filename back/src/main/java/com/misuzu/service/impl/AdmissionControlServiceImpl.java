@@ -0,0 +1,128 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.dto.AdmissionLoad;
+import com.misuzu.entity.VideoJobStatus;
+import com.misuzu.exception.TooManyRequestsException;
+import com.misuzu.repository.VideoJobRepository;
+import com.misuzu.service.AdmissionControlService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 上传准入控制服务实现类
+ * 上传计数在内存中原子更新；队列深度和磁盘空间定时刷新，判断准入时不访问数据库和文件系统
+ */
+@Slf4j
+@Service
+public class AdmissionControlServiceImpl implements AdmissionControlService {
+
+    private final VideoJobRepository videoJobRepository;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final AtomicInteger inFlightUploads = new AtomicInteger();
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private volatile long queuedJobs;
+    private volatile long diskFreeBytes = Long.MAX_VALUE;
+
+    @Value("${file.storage.location}")
+    private String storagePath;
+
+    @Value("${admission.upload.max-in-flight:16}")
+    private int maxInFlightUploads;
+
+    @Value("${admission.upload.max-in-flight-bytes:8GB}")
+    private DataSize maxInFlightBytes;
+
+    @Value("${admission.processing.max-queued:200}")
+    private long maxQueuedJobs;
+
+    @Value("${admission.disk.min-free:10GB}")
+    private DataSize minDiskFree;
+
+    /**
+     * 拒绝时返回的重试间隔（秒）
+     */
+    @Value("${admission.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    public AdmissionControlServiceImpl(VideoJobRepository videoJobRepository,
+                                       @Qualifier("videoProcessingExecutor") ThreadPoolTaskExecutor executor) {
+        this.videoJobRepository = videoJobRepository;
+        this.executor = executor;
+    }
+
+    @Override
+    public void acquireUpload(long bytes) {
+        if (diskFreeBytes - inFlightBytes.get() - bytes < minDiskFree.toBytes()) {
+            throw new TooManyRequestsException("存储空间不足，请稍后再上传", retryAfterSeconds);
+        }
+        if (queuedJobs >= maxQueuedJobs) {
+            throw new TooManyRequestsException("待处理视频过多，请稍后再上传", retryAfterSeconds);
+        }
+
+        // 先登记再检查，并发请求不会同时越过阈值；单个请求超过字节上限时仍允许其独自上传
+        int uploads = inFlightUploads.incrementAndGet();
+        long total = inFlightBytes.addAndGet(bytes);
+        if (uploads > maxInFlightUploads || (total > maxInFlightBytes.toBytes() && uploads > 1)) {
+            releaseUpload(bytes);
+            throw new TooManyRequestsException("同时上传的视频过多，请稍后再试", retryAfterSeconds);
+        }
+    }
+
+    @Override
+    public void releaseUpload(long bytes) {
+        inFlightUploads.decrementAndGet();
+        inFlightBytes.addAndGet(-bytes);
+    }
+
+    @Override
+    public AdmissionLoad getLoad() {
+        boolean accepting = inFlightUploads.get() < maxInFlightUploads
+                && inFlightBytes.get() < maxInFlightBytes.toBytes()
+                && queuedJobs < maxQueuedJobs
+                && diskFreeBytes - inFlightBytes.get() >= minDiskFree.toBytes();
+        return AdmissionLoad.builder()
+                .accepting(accepting)
+                .inFlightUploads(inFlightUploads.get())
+                .maxInFlightUploads(maxInFlightUploads)
+                .inFlightBytes(inFlightBytes.get())
+                .maxInFlightBytes(maxInFlightBytes.toBytes())
+                .queuedJobs(queuedJobs)
+                .maxQueuedJobs(maxQueuedJobs)
+                .activeProcessing(executor.getActiveCount())
+                .diskFreeBytes(diskFreeBytes)
+                .minDiskFreeBytes(minDiskFree.toBytes())
+                .build();
+    }
+
+    /**
+     * 刷新队列深度和磁盘剩余空间
+     */
+    @Scheduled(fixedDelayString = "${admission.refresh-interval-millis:5000}")
+    public void refresh() {
+        try {
+            queuedJobs = videoJobRepository.countByStatus(VideoJobStatus.QUEUED);
+        } catch (Exception e) {
+            log.warn("统计待处理视频任务失败: {}", e.getMessage());
+        }
+        try {
+            Path storage = Paths.get(storagePath);
+            Files.createDirectories(storage);
+            diskFreeBytes = Files.getFileStore(storage).getUsableSpace();
+        } catch (IOException e) {
+            log.warn("读取存储目录可用空间失败: {}", e.getMessage());
+        }
+    }
+}
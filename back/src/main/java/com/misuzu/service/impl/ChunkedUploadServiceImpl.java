@@ -0,0 +1,422 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.dto.StoredFileInfo;
+import com.misuzu.dto.UploadSessionRequest;
+import com.misuzu.dto.UploadSessionResponse;
+import com.misuzu.dto.VideoUploadDTO;
+import com.misuzu.entity.UploadSession;
+import com.misuzu.entity.UploadSessionStatus;
+import com.misuzu.entity.Video;
+import com.misuzu.exception.BusinessException;
+import com.misuzu.repository.UploadSessionRepository;
+import com.misuzu.repository.UserRepository;
+import com.misuzu.repository.VideoRepository;
+import com.misuzu.service.AdmissionControlService;
+import com.misuzu.service.ChunkedUploadService;
+import com.misuzu.service.VideoService;
+import com.misuzu.service.VideoStorageService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 分片上传服务实现类
+ * 创建会话时预分配目标文件，各分片直接写入对应偏移，合并时无需再复制数据。
+ * 分片写入在事务之外进行，开始和结束时在会话行锁下增减inflightWrites；完成上传时在同一把行锁下确认没有进行中的写入，
+ * 并置为FINALIZING阻止新的写入，再计算哈希。仍有写入时直接返回409，由客户端稍后重新提交，不占用请求线程等待。
+ * 创建会话时按声明的文件大小登记上传准入额度，会话完成、失败、取消或被清理时释放。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UserRepository userRepository;
+    private final VideoRepository videoRepository;
+    private final VideoStorageService videoStorageService;
+    private final VideoService videoService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final AdmissionControlService admissionControlService;
+
+    /**
+     * 本节点创建的会话登记的准入字节数，准入计数只在内存中，其他节点或重启前创建的会话不在其中
+     */
+    private final Map<String, Long> reservations = new ConcurrentHashMap<>();
+
+    @Value("${file.upload.chunk-size}")
+    private DataSize defaultChunkSize;
+
+    @Value("${file.upload.max-size}")
+    private DataSize maxUploadSize;
+
+    /**
+     * 超过该时长没有任何进展的会话视为已放弃，由定时任务清理
+     */
+    @Value("${file.upload.session-ttl-hours:24}")
+    private long sessionTtlHours;
+
+    @Override
+    public UploadSessionResponse createSession(UploadSessionRequest request) {
+        if (!VideoUploadDTO.ALLOWED_CONTENT_TYPES.contains(request.getContentType())) {
+            throw new BusinessException("仅支持MP4/AVI/MOV格式");
+        }
+        if (request.getTotalSize() > maxUploadSize.toBytes()) {
+            throw new BusinessException("视频文件超过大小限制", HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        if (!userRepository.existsById(request.getUserId())) {
+            throw new BusinessException("用户不存在", HttpStatus.NOT_FOUND);
+        }
+
+        int chunkSize = request.getChunkSize() != null
+                ? Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, request.getChunkSize()))
+                : (int) defaultChunkSize.toBytes();
+
+        // 按整个文件的大小准入，而不是创建请求本身很小的请求体
+        admissionControlService.acquireUpload(request.getTotalSize());
+        String uploadId = UUID.randomUUID().toString();
+        reservations.put(uploadId, request.getTotalSize());
+        try {
+            return toResponse(saveSession(uploadId, request, chunkSize));
+        } catch (RuntimeException e) {
+            releaseReservation(uploadId);
+            throw e;
+        }
+    }
+
+    private UploadSession saveSession(String uploadId, UploadSessionRequest request, int chunkSize) {
+        Path target;
+        try {
+            target = videoStorageService.allocate(uploadId, request.getTotalSize());
+        } catch (IOException e) {
+            log.error("预分配上传文件失败", e);
+            throw new BusinessException("创建上传会话失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        UploadSession session = uploadSessionRepository.save(UploadSession.builder()
+                .id(uploadId)
+                .userId(request.getUserId())
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .trainingType(request.getTrainingType())
+                .originalFilename(request.getFilename())
+                .contentType(request.getContentType())
+                .totalSize(request.getTotalSize())
+                .chunkSize(chunkSize)
+                .filePath(target.toString())
+                .receivedChunks(new byte[0])
+                .inflightWrites(0)
+                .status(UploadSessionStatus.UPLOADING)
+                .createdAt(new Date())
+                .updatedAt(new Date())
+                .build());
+
+        log.info("创建分片上传会话: {}, 文件大小: {}, 分片数: {}",
+                session.getId(), session.getTotalSize(), session.getTotalChunks());
+        return session;
+    }
+
+    /**
+     * 释放会话登记的准入额度，重复调用或会话不是本节点创建时不做任何事
+     */
+    private void releaseReservation(String uploadId) {
+        Long bytes = reservations.remove(uploadId);
+        if (bytes != null) {
+            admissionControlService.releaseUpload(bytes);
+        }
+    }
+
+    @Override
+    public UploadSessionResponse writeChunk(String uploadId, int index, long contentLength, InputStream body) {
+        // 在行锁下确认会话仍在上传并登记进行中的写入，完成上传会等待这些写入结束
+        UploadSession session = transactionTemplate.execute(status -> {
+            UploadSession locked = lockSession(uploadId);
+            checkUploading(locked);
+            if (index < 0 || index >= locked.getTotalChunks()) {
+                throw new BusinessException("分片序号超出范围");
+            }
+            long offset = (long) index * locked.getChunkSize();
+            long expected = Math.min(locked.getChunkSize(), locked.getTotalSize() - offset);
+            if (contentLength >= 0 && contentLength != expected) {
+                throw new BusinessException("分片大小不正确，应为 " + expected + " 字节");
+            }
+            locked.setInflightWrites(locked.getInflightWrites() + 1);
+            return uploadSessionRepository.save(locked);
+        });
+
+        long offset = (long) index * session.getChunkSize();
+        long expected = Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+
+        // 数据写入在事务之外进行，多个分片可以并行写入各自的偏移区间
+        try (ReadableByteChannel channel = Channels.newChannel(body)) {
+            long written = videoStorageService.writeAt(Paths.get(session.getFilePath()), channel, offset, expected);
+            if (written != expected) {
+                throw new BusinessException("分片数据不完整，已接收 " + written + " 字节");
+            }
+        } catch (IOException e) {
+            finishWrite(uploadId, index, false);
+            log.error("写入分片失败, 会话: {}, 分片: {}", uploadId, index, e);
+            throw new BusinessException("写入分片失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (RuntimeException e) {
+            finishWrite(uploadId, index, false);
+            throw e;
+        }
+        return toResponse(finishWrite(uploadId, index, true));
+    }
+
+    /**
+     * 分片写入结束，在行锁下撤销进行中的登记，写入成功时标记分片已接收
+     */
+    private UploadSession finishWrite(String uploadId, int index, boolean succeeded) {
+        return transactionTemplate.execute(status -> {
+            UploadSession locked = lockSession(uploadId);
+            locked.setInflightWrites(Math.max(0, locked.getInflightWrites() - 1));
+            // 会话已被取消时不再更新位图
+            if (succeeded && locked.getStatus() != UploadSessionStatus.ABORTED) {
+                BitSet received = BitSet.valueOf(locked.getReceivedChunks());
+                received.set(index);
+                locked.setReceivedChunks(received.toByteArray());
+            }
+            locked.setUpdatedAt(new Date());
+            return uploadSessionRepository.save(locked);
+        });
+    }
+
+    @Override
+    public UploadSessionResponse getSession(String uploadId) {
+        return toResponse(findSession(uploadId));
+    }
+
+    @Override
+    public Video complete(String uploadId) {
+        // 先将会话标记为FINALIZING，计算哈希等耗时的文件操作放在事务外进行
+        Video existing = transactionTemplate.execute(status -> {
+            UploadSession session = lockSession(uploadId);
+
+            // 重复提交完成请求时直接返回已生成的视频
+            if (session.getStatus() == UploadSessionStatus.COMPLETED && session.getVideoId() != null) {
+                return videoRepository.findById(session.getVideoId())
+                        .orElseThrow(() -> new BusinessException("视频不存在", HttpStatus.NOT_FOUND));
+            }
+            checkUploading(session);
+
+            int missing = session.getTotalChunks() - BitSet.valueOf(session.getReceivedChunks()).cardinality();
+            if (missing > 0) {
+                throw new BusinessException("仍有 " + missing + " 个分片未上传", HttpStatus.CONFLICT);
+            }
+            // 分片已全部接收时进行中的写入只可能是重传，很快会结束，由客户端稍后重试
+            if (session.getInflightWrites() > 0) {
+                throw new BusinessException("仍有分片正在写入，请稍后重试", HttpStatus.CONFLICT);
+            }
+
+            session.setStatus(UploadSessionStatus.FINALIZING);
+            session.setUpdatedAt(new Date());
+            uploadSessionRepository.save(session);
+            return null;
+        });
+        if (existing != null) {
+            return existing;
+        }
+
+        // FINALIZING之后路径不再变化，也不会有新的写入
+        UploadSession session = findSession(uploadId);
+        StoredFileInfo stored;
+        try {
+            // 计算内容哈希并移入内容目录，相同内容已存在时复用已有文件
+            stored = videoStorageService.commit(Paths.get(session.getFilePath()));
+        } catch (IOException e) {
+            log.error("合并上传文件失败: {}", uploadId, e);
+            updateStatus(uploadId, UploadSessionStatus.UPLOADING);
+            throw new BusinessException("完成上传失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        try {
+            Video video = transactionTemplate.execute(status -> {
+                UploadSession locked = lockSession(uploadId);
+                Video created = videoService.createVideo(locked.getUserId(), locked.getTitle(),
+                        locked.getDescription(), locked.getTrainingType(), stored, locked.getContentType());
+
+                locked.setStatus(UploadSessionStatus.COMPLETED);
+                locked.setFilePath(stored.getPath().toString());
+                locked.setVideoId(created.getId());
+                locked.setUpdatedAt(new Date());
+                uploadSessionRepository.save(locked);
+
+                log.info("分片上传完成: {}, 视频ID: {}, 重复内容: {}", uploadId, created.getId(), stored.isDuplicate());
+                return created;
+            });
+            releaseReservation(uploadId);
+            return video;
+        } catch (RuntimeException e) {
+            // 上传文件已移入内容目录，无法回到UPLOADING；释放commit登记的引用并将会话标记为失败
+            log.error("生成视频记录失败: {}", uploadId, e);
+            try {
+                videoStorageService.release(stored.getSha256());
+            } catch (RuntimeException releaseError) {
+                log.warn("释放内容引用失败: {}", stored.getSha256(), releaseError);
+            }
+            releaseReservation(uploadId);
+            updateStatus(uploadId, UploadSessionStatus.FAILED);
+            if (e instanceof BusinessException be) {
+                throw be;
+            }
+            throw new BusinessException("完成上传失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private void updateStatus(String uploadId, UploadSessionStatus target) {
+        transactionTemplate.executeWithoutResult(status -> {
+            UploadSession locked = lockSession(uploadId);
+            locked.setStatus(target);
+            locked.setUpdatedAt(new Date());
+            uploadSessionRepository.save(locked);
+        });
+    }
+
+    @Override
+    public void abort(String uploadId) {
+        UploadSession session = transactionTemplate.execute(status -> {
+            UploadSession locked = lockSession(uploadId);
+            checkUploading(locked);
+            locked.setStatus(UploadSessionStatus.ABORTED);
+            locked.setUpdatedAt(new Date());
+            return uploadSessionRepository.save(locked);
+        });
+        releaseReservation(uploadId);
+        deleteFile(session);
+    }
+
+    /**
+     * 定期清理长时间没有进展的会话：上传中的会话取消并删除预分配文件，卡在FINALIZING的会话标记为失败
+     */
+    @Scheduled(fixedDelayString = "${file.upload.session-cleanup-interval-millis:3600000}")
+    public void cleanupAbandonedSessions() {
+        Date expiredBefore = new Date(System.currentTimeMillis() - sessionTtlHours * 3600 * 1000);
+        List<UploadSession> expired = uploadSessionRepository.findByStatusInAndUpdatedAtBefore(
+                EnumSet.of(UploadSessionStatus.UPLOADING, UploadSessionStatus.FINALIZING), expiredBefore);
+        for (UploadSession candidate : expired) {
+            try {
+                UploadSession session = transactionTemplate.execute(status -> {
+                    UploadSession locked = lockSession(candidate.getId());
+                    // 加锁后重新确认，期间可能又收到了分片
+                    if (!locked.getUpdatedAt().before(expiredBefore)) {
+                        return null;
+                    }
+                    if (locked.getStatus() == UploadSessionStatus.UPLOADING) {
+                        locked.setStatus(UploadSessionStatus.ABORTED);
+                    } else if (locked.getStatus() == UploadSessionStatus.FINALIZING) {
+                        locked.setStatus(UploadSessionStatus.FAILED);
+                    } else {
+                        return null;
+                    }
+                    locked.setUpdatedAt(new Date());
+                    return uploadSessionRepository.save(locked);
+                });
+                if (session != null) {
+                    log.info("清理已放弃的上传会话: {}, 状态: {}", session.getId(), session.getStatus());
+                    releaseReservation(session.getId());
+                    deleteFile(session);
+                }
+            } catch (RuntimeException e) {
+                log.warn("清理上传会话失败: {}", candidate.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * 删除会话的预分配文件，只用于尚未移入内容目录的会话
+     */
+    private void deleteFile(UploadSession session) {
+        try {
+            Files.deleteIfExists(Paths.get(session.getFilePath()));
+        } catch (IOException e) {
+            log.warn("删除上传文件失败: {}", session.getFilePath(), e);
+        }
+    }
+
+    private UploadSession findSession(String uploadId) {
+        return uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new BusinessException("上传会话不存在", HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * 加行锁读取上传会话，需在事务中调用
+     * 开启OSIV时会话可能已在持久化上下文中，refresh保证读到加锁后的最新状态
+     */
+    private UploadSession lockSession(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        entityManager.refresh(session, LockModeType.PESSIMISTIC_WRITE);
+        return session;
+    }
+
+    private void checkUploading(UploadSession session) {
+        if (session.getStatus() != UploadSessionStatus.UPLOADING) {
+            throw new BusinessException("上传会话已结束: " + session.getStatus(), HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * 将会话转换为响应，并根据位图计算已接收区间和缺失分片
+     */
+    private UploadSessionResponse toResponse(UploadSession session) {
+        BitSet received = BitSet.valueOf(session.getReceivedChunks());
+        int totalChunks = session.getTotalChunks();
+        long chunkSize = session.getChunkSize();
+
+        List<long[]> ranges = new ArrayList<>();
+        long receivedBytes = 0;
+        for (int start = received.nextSetBit(0); start >= 0 && start < totalChunks;
+             start = received.nextSetBit(start + 1)) {
+            int end = Math.min(received.nextClearBit(start), totalChunks);
+            long from = start * chunkSize;
+            long to = Math.min(end * chunkSize, session.getTotalSize());
+            ranges.add(new long[]{from, to});
+            receivedBytes += to - from;
+            start = end;
+        }
+
+        List<Integer> missing = new ArrayList<>();
+        for (int i = received.nextClearBit(0); i < totalChunks; i = received.nextClearBit(i + 1)) {
+            missing.add(i);
+        }
+
+        return UploadSessionResponse.builder()
+                .uploadId(session.getId())
+                .status(session.getStatus())
+                .totalSize(session.getTotalSize())
+                .chunkSize(session.getChunkSize())
+                .totalChunks(totalChunks)
+                .receivedBytes(receivedBytes)
+                .receivedRanges(ranges)
+                .missingChunks(missing)
+                .videoId(session.getVideoId())
+                .build();
+    }
+}
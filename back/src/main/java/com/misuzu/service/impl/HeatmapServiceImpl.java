@@ -0,0 +1,148 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.analysis.LandingGrid;
+import com.misuzu.analysis.TrajectoryFile;
+import com.misuzu.dto.HeatmapResponse;
+import com.misuzu.entity.Heatmap;
+import com.misuzu.entity.Video;
+import com.misuzu.repository.HeatmapRepository;
+import com.misuzu.service.HeatmapService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Paths;
+import java.util.Date;
+
+/**
+ * 落点热力图服务实现类
+ * 每个视频只在分析完成时读取一次轨迹文件，得到的落点计数加到用户的汇总行和训练类型行上，
+ * 查询时只读取一行累加结果，与视频数量无关。已计入的视频登记在heatmap_videos中，重新处理时不会重复累加
+ */
+@Slf4j
+@Service
+public class HeatmapServiceImpl implements HeatmapService {
+
+    private final HeatmapRepository heatmapRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${heatmap.grid-columns:16}")
+    private int gridColumns;
+
+    @Value("${heatmap.grid-rows:9}")
+    private int gridRows;
+
+    public HeatmapServiceImpl(HeatmapRepository heatmapRepository, TransactionTemplate transactionTemplate) {
+        this.heatmapRepository = heatmapRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void recordVideo(Video video) {
+        if (video.getTrajectoryUrl() == null || video.getUser() == null
+                || video.getWidth() == null || video.getHeight() == null) {
+            log.debug("视频 {} 缺少轨迹或画面尺寸，不计入热力图", video.getId());
+            return;
+        }
+
+        int[] counts;
+        try {
+            counts = LandingGrid.compute(TrajectoryFile.open(Paths.get(video.getTrajectoryUrl())),
+                    video.getWidth(), video.getHeight(), gridColumns, gridRows);
+        } catch (IOException e) {
+            log.warn("读取轨迹文件失败，视频 {} 不计入热力图: {}", video.getId(), e.getMessage());
+            return;
+        }
+
+        Integer userId = video.getUser().getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (heatmapRepository.markRecorded(video.getId(), new Date()) == 0) {
+                log.info("视频 {} 已计入热力图，跳过重复累加", video.getId());
+                return;
+            }
+            accumulate(userId, ALL_TRAINING_TYPES, counts);
+            if (video.getTrainingType() != null && !video.getTrainingType().isBlank()
+                    && !ALL_TRAINING_TYPES.equals(video.getTrainingType())) {
+                accumulate(userId, video.getTrainingType(), counts);
+            }
+        });
+    }
+
+    @Override
+    public HeatmapResponse getHeatmap(Integer userId, String trainingType) {
+        String type = trainingType == null || trainingType.isBlank() ? ALL_TRAINING_TYPES : trainingType;
+        return heatmapRepository.findByUserIdAndTrainingType(userId, type)
+                .map(heatmap -> HeatmapResponse.builder()
+                        .userId(userId)
+                        .trainingType(type)
+                        .columns(heatmap.getGridColumns())
+                        .rows(heatmap.getGridRows())
+                        .counts(decode(heatmap.getCounts(), heatmap.getGridColumns() * heatmap.getGridRows()))
+                        .total(heatmap.getTotal())
+                        .videoCount(heatmap.getVideoCount())
+                        .updatedAt(heatmap.getUpdatedAt())
+                        .build())
+                .orElseGet(() -> HeatmapResponse.builder()
+                        .userId(userId)
+                        .trainingType(type)
+                        .columns(gridColumns)
+                        .rows(gridRows)
+                        .counts(new long[gridColumns * gridRows])
+                        .build());
+    }
+
+    /**
+     * 在行锁内把一个视频的落点计数加到热力图上，热力图不存在时先插入空行
+     */
+    private void accumulate(Integer userId, String trainingType, int[] counts) {
+        Date now = new Date();
+        heatmapRepository.insertIfAbsent(userId, trainingType, gridColumns, gridRows,
+                encode(new long[counts.length]), now);
+        Heatmap heatmap = heatmapRepository.findForUpdate(userId, trainingType).orElseThrow();
+
+        long[] cells;
+        long total;
+        if (heatmap.getGridColumns() != gridColumns || heatmap.getGridRows() != gridRows) {
+            // 网格配置变更后旧计数无法换算，从当前视频重新开始累计
+            log.info("热力图网格已变更({}x{} -> {}x{}), 重置用户 {} 的 {} 热力图", heatmap.getGridColumns(),
+                    heatmap.getGridRows(), gridColumns, gridRows, userId, trainingType);
+            cells = new long[counts.length];
+            total = 0;
+            heatmap.setGridColumns(gridColumns);
+            heatmap.setGridRows(gridRows);
+            heatmap.setVideoCount(0);
+        } else {
+            cells = decode(heatmap.getCounts(), counts.length);
+            total = heatmap.getTotal();
+        }
+
+        for (int i = 0; i < counts.length; i++) {
+            cells[i] += counts[i];
+            total += counts[i];
+        }
+        heatmap.setCounts(encode(cells));
+        heatmap.setTotal(total);
+        heatmap.setVideoCount(heatmap.getVideoCount() + 1);
+        heatmap.setUpdatedAt(now);
+        heatmapRepository.save(heatmap);
+    }
+
+    private static byte[] encode(long[] cells) {
+        ByteBuffer buffer = ByteBuffer.allocate(cells.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asLongBuffer().put(cells);
+        return buffer.array();
+    }
+
+    private static long[] decode(byte[] bytes, int length) {
+        long[] cells = new long[length];
+        if (bytes != null) {
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer()
+                    .get(cells, 0, Math.min(length, bytes.length / Long.BYTES));
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,215 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.repository.VideoRepository;
+import com.misuzu.service.HlsTranscodeService;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.ffmpeg.global.avcodec;
+import org.bytedeco.ffmpeg.global.avutil;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Frame;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * HLS转码服务实现类
+ * 使用FFmpegFrameGrabber解码一次，将每帧同时送入各清晰度的FFmpegFrameRecorder，
+ * 缩放由recorder内部的swscale完成
+ */
+@Slf4j
+@Service
+public class HlsTranscodeServiceImpl implements HlsTranscodeService {
+
+    /**
+     * 每像素每帧的目标比特数，用于估算各清晰度码率
+     */
+    private static final double BITS_PER_PIXEL = 0.1;
+
+    private final VideoRepository videoRepository;
+    private final ThreadPoolTaskExecutor executor;
+
+    @Value("${video.transcode.enabled:false}")
+    private boolean enabled;
+
+    @Value("${file.hls.location:uploads/hls}")
+    private String hlsPath;
+
+    /**
+     * 除原始分辨率外额外输出的清晰度（画面高度）
+     */
+    @Value("${video.transcode.heights:360,720}")
+    private int[] heights;
+
+    /**
+     * 每个分片的时长（秒）
+     */
+    @Value("${video.transcode.segment-seconds:6}")
+    private int segmentSeconds;
+
+    /**
+     * 每路编码器（及解码器）的线程数，单个转码任务占用(清晰度数 + 2) * encoderThreads个线程
+     */
+    @Value("${video.transcode.encoder-threads:1}")
+    private int encoderThreads;
+
+    public HlsTranscodeServiceImpl(VideoRepository videoRepository,
+                                   @Qualifier("videoTranscodeExecutor") ThreadPoolTaskExecutor executor) {
+        this.videoRepository = videoRepository;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void submit(Integer videoId, String contentHash, Path videoPath) {
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    String masterUrl = transcode(videoId, videoPath);
+                    videoRepository.updateHlsUrl(videoId, contentHash, masterUrl, new Date());
+                    log.info("视频 {} HLS转码完成, 耗时: {}ms", videoId, (System.nanoTime() - start) / 1_000_000);
+                } catch (Exception e) {
+                    log.error("视频 {} HLS转码失败", videoId, e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("HLS转码队列已满({}), 视频 {} 跳过转码",
+                    executor.getThreadPoolExecutor().getQueue().size(), videoId);
+        }
+    }
+
+    @Override
+    public String transcode(Integer videoId, Path videoPath) throws IOException {
+        Path outputDir = Paths.get(hlsPath, String.valueOf(videoId));
+        Files.createDirectories(outputDir);
+        try {
+            return writeRenditions(videoPath, outputDir);
+        } catch (IOException | RuntimeException e) {
+            // 不完整的分片无法播放，删除整个输出目录，避免残留占用磁盘
+            try {
+                FileSystemUtils.deleteRecursively(outputDir);
+            } catch (IOException deleteError) {
+                log.warn("删除视频 {} 的HLS输出失败: {}", videoId, outputDir, deleteError);
+            }
+            throw e;
+        }
+    }
+
+    private String writeRenditions(Path videoPath, Path outputDir) throws IOException {
+        List<FFmpegFrameRecorder> recorders = new ArrayList<>();
+        StringBuilder master = new StringBuilder("#EXTM3U\n#EXT-X-VERSION:3\n");
+
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoPath.toFile())) {
+            grabber.setVideoOption("threads", String.valueOf(encoderThreads));
+            grabber.start();
+
+            int sourceWidth = grabber.getImageWidth();
+            int sourceHeight = grabber.getImageHeight();
+            double frameRate = grabber.getFrameRate() > 0 ? grabber.getFrameRate() : 25;
+
+            for (int height : heights) {
+                if (height < sourceHeight) {
+                    int width = even(sourceWidth * height / sourceHeight);
+                    long bitRate = estimateBitRate(width, height, frameRate);
+                    recorders.add(startRecorder(grabber, outputDir, height + "p", width, height, bitRate));
+                    appendVariant(master, height + "p", width, height, bitRate);
+                }
+            }
+            long sourceBitRate = grabber.getVideoBitrate() > 0
+                    ? grabber.getVideoBitrate() : estimateBitRate(sourceWidth, sourceHeight, frameRate);
+            recorders.add(startRecorder(grabber, outputDir, "source", even(sourceWidth), even(sourceHeight),
+                    sourceBitRate));
+            appendVariant(master, "source", even(sourceWidth), even(sourceHeight), sourceBitRate);
+
+            // 一次解码，所有清晰度共用同一帧
+            Frame frame;
+            while ((frame = grabber.grab()) != null) {
+                for (FFmpegFrameRecorder recorder : recorders) {
+                    if (frame.image != null && grabber.getTimestamp() > recorder.getTimestamp()) {
+                        recorder.setTimestamp(grabber.getTimestamp());
+                    }
+                    recorder.record(frame);
+                }
+            }
+            grabber.stop();
+        } finally {
+            for (FFmpegFrameRecorder recorder : recorders) {
+                try {
+                    recorder.close();
+                } catch (Exception e) {
+                    log.warn("关闭HLS编码器失败", e);
+                }
+            }
+        }
+
+        Path masterPlaylist = outputDir.resolve("master.m3u8");
+        Files.writeString(masterPlaylist, master.toString(), StandardCharsets.UTF_8);
+        return masterPlaylist.toString();
+    }
+
+    private FFmpegFrameRecorder startRecorder(FFmpegFrameGrabber grabber, Path outputDir, String name,
+                                              int width, int height, long bitRate) throws IOException {
+        Path renditionDir = outputDir.resolve(name);
+        Files.createDirectories(renditionDir);
+
+        FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(renditionDir.resolve("index.m3u8").toString(),
+                width, height, grabber.getAudioChannels());
+        recorder.setFormat("hls");
+        recorder.setOption("hls_time", String.valueOf(segmentSeconds));
+        recorder.setOption("hls_list_size", "0");
+        recorder.setOption("hls_playlist_type", "vod");
+        recorder.setOption("hls_segment_filename", renditionDir.resolve("seg_%05d.ts").toString());
+
+        double frameRate = grabber.getFrameRate() > 0 ? grabber.getFrameRate() : 25;
+        recorder.setVideoCodec(avcodec.AV_CODEC_ID_H264);
+        recorder.setPixelFormat(avutil.AV_PIX_FMT_YUV420P);
+        recorder.setFrameRate(frameRate);
+        recorder.setVideoBitrate((int) Math.min(bitRate, Integer.MAX_VALUE));
+        // 关键帧间隔与分片时长对齐，保证各清晰度的分片边界一致，便于切换
+        recorder.setGopSize((int) Math.round(frameRate * segmentSeconds));
+        recorder.setVideoOption("preset", "veryfast");
+        recorder.setVideoOption("threads", String.valueOf(encoderThreads));
+
+        if (grabber.getAudioChannels() > 0) {
+            recorder.setAudioCodec(avcodec.AV_CODEC_ID_AAC);
+            recorder.setSampleRate(grabber.getSampleRate());
+            recorder.setAudioBitrate(128_000);
+        }
+        recorder.start();
+        return recorder;
+    }
+
+    private void appendVariant(StringBuilder master, String name, int width, int height, long bitRate) {
+        master.append("#EXT-X-STREAM-INF:BANDWIDTH=").append(bitRate)
+                .append(",RESOLUTION=").append(width).append('x').append(height).append('\n')
+                .append(name).append("/index.m3u8\n");
+    }
+
+    private long estimateBitRate(int width, int height, double frameRate) {
+        return (long) (width * (long) height * frameRate * BITS_PER_PIXEL);
+    }
+
+    /**
+     * H.264的yuv420p要求宽高为偶数
+     */
+    private int even(int value) {
+        return Math.max(2, value & ~1);
+    }
+}
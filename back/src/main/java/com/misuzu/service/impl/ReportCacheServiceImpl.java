@@ -0,0 +1,150 @@
+package com.misuzu.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.misuzu.dto.ReportCacheStats;
+import com.misuzu.model.dto.ReportModelRequest;
+import com.misuzu.model.dto.ReportModelResponse;
+import com.misuzu.service.ReportCacheService;
+import com.misuzu.util.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 大模型报告结果缓存服务实现类
+ * 请求经过规范化（训练类型、会话去重排序，空白和大小写统一）后与训练数据版本一起做SHA-256作为键，
+ * 条目按LRU淘汰并带有有效期；训练数据变化时版本递增，旧版本的条目不会再被命中
+ */
+@Slf4j
+@Service
+public class ReportCacheServiceImpl implements ReportCacheService {
+
+    private final ObjectMapper objectMapper;
+    private final LruCache<String, Entry> cache;
+    private final long ttlMillis;
+
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record Entry(ReportModelResponse response, long expiresAt) {
+    }
+
+    public ReportCacheServiceImpl(ObjectMapper objectMapper,
+                                  @Value("${report.model-cache.max-entries:500}") int maxEntries,
+                                  @Value("${report.model-cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.cache = new LruCache<>(maxEntries);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    @Override
+    public Key key(ReportModelRequest request) {
+        long version = dataVersion.get();
+        return new Key(digest(request, version), version);
+    }
+
+    @Override
+    public ReportModelResponse get(Key key) {
+        Entry entry = cache.get(key.digest());
+        if (entry == null || entry.expiresAt() < System.currentTimeMillis()) {
+            if (entry != null) {
+                cache.remove(key.digest());
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.response();
+    }
+
+    @Override
+    public void put(Key key, ReportModelResponse response) {
+        // 调用大模型期间训练数据已变化，结果基于旧数据生成，不再缓存
+        if (key.version() != dataVersion.get()) {
+            log.debug("训练数据版本已从 {} 变为 {}，丢弃报告缓存写入", key.version(), dataVersion.get());
+            return;
+        }
+        cache.put(key.digest(), new Entry(response, System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpVersion();
+                }
+            });
+        } else {
+            bumpVersion();
+        }
+    }
+
+    @Override
+    public ReportCacheStats getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+        return ReportCacheStats.builder()
+                .size(cache.size())
+                .capacity(cache.getCapacity())
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(total > 0 ? (double) hitCount / total : 0)
+                .dataVersion(dataVersion.get())
+                .ttlSeconds(ttlMillis / 1000)
+                .build();
+    }
+
+    private void bumpVersion() {
+        // 版本是键的一部分，旧条目已不可能命中，直接清空以释放内存
+        long version = dataVersion.incrementAndGet();
+        cache.clear();
+        log.debug("训练数据已变化，报告缓存失效，版本: {}", version);
+    }
+
+    /**
+     * 规范化后的请求JSON加训练数据版本的SHA-256
+     */
+    private String digest(ReportModelRequest request, long version) {
+        Map<String, Object> normalized = new LinkedHashMap<>();
+        normalized.put("version", version);
+        normalized.put("template", normalize(request.getTemplate()));
+        normalized.put("dateRange", request.getDateRange() == null ? null
+                : Arrays.stream(request.getDateRange()).map(value -> value == null ? null : value.trim()).toList());
+        normalized.put("trainingTypes", request.getTrainingTypes() == null ? null
+                : request.getTrainingTypes().stream().filter(Objects::nonNull).map(this::normalize)
+                .distinct().sorted().toList());
+        normalized.put("sessions", request.getSessions() == null ? null
+                : request.getSessions().stream().filter(Objects::nonNull).distinct().sorted().toList());
+        // 已填写的内容会影响生成结果，原样参与计算
+        normalized.put("currentContent", request.getCurrentContent());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(
+                    objectMapper.writeValueAsString(normalized).getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("生成报告缓存键失败", e);
+        }
+    }
+
+    private String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
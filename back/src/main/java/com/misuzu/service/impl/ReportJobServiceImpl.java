@@ -0,0 +1,165 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.exception.BusinessException;
+import com.misuzu.exception.TooManyRequestsException;
+import com.misuzu.model.dto.ReportJobResponse;
+import com.misuzu.model.dto.ReportJobStatus;
+import com.misuzu.model.dto.ReportModelRequest;
+import com.misuzu.model.dto.ReportModelResponse;
+import com.misuzu.service.ReportJobService;
+import com.misuzu.service.ReportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 报告生成任务服务实现类
+ * 任务只保存在本节点内存中，结束后保留report.jobs.retention-seconds供客户端读取结果；
+ * 每个任务有一个只重放最新状态的通道，SSE订阅者连接时立即收到当前状态
+ */
+@Slf4j
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private final ReportService reportService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Value("${report.jobs.retention-seconds:600}")
+    private long retentionSeconds;
+
+    /**
+     * 队列满时建议客户端的重试间隔
+     */
+    @Value("${report.jobs.retry-after-seconds:10}")
+    private long retryAfterSeconds;
+
+    public ReportJobServiceImpl(ReportService reportService,
+                                @Qualifier("reportGenerationExecutor") ThreadPoolTaskExecutor executor) {
+        this.reportService = reportService;
+        this.executor = executor;
+    }
+
+    @Override
+    public ReportJobResponse submit(ReportModelRequest request) {
+        Job job = new Job(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, request));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            throw new TooManyRequestsException("报告生成任务过多，请稍后重试", retryAfterSeconds);
+        }
+        log.info("报告生成任务已提交: {}", job.id);
+        return job.snapshot();
+    }
+
+    @Override
+    public ReportJobResponse getJob(String jobId) {
+        return find(jobId).snapshot();
+    }
+
+    @Override
+    public Flux<ReportJobResponse> subscribe(String jobId) {
+        Job job = find(jobId);
+        ReportJobResponse current = job.snapshot();
+        if (current.isTerminal()) {
+            return Flux.just(current);
+        }
+        return job.sink.asFlux().takeUntil(ReportJobResponse::isTerminal);
+    }
+
+    /**
+     * 定期清理已结束且超过保留时长的任务
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.cleanup-interval-millis:60000}")
+    public void cleanup() {
+        long expiredBefore = System.currentTimeMillis() - retentionSeconds * 1000;
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.getTime() < expiredBefore);
+    }
+
+    private void run(Job job, ReportModelRequest request) {
+        job.startedAt = new Date();
+        job.update(ReportJobStatus.RUNNING);
+        try {
+            job.result = reportService.generateModelAnalysis(request);
+            job.finishedAt = new Date();
+            job.update(ReportJobStatus.DONE);
+            log.info("报告生成任务完成: {}, 耗时: {}ms", job.id,
+                    job.finishedAt.getTime() - job.startedAt.getTime());
+        } catch (Exception e) {
+            log.error("报告生成任务失败: {}", job.id, e);
+            job.error = e.getMessage();
+            job.finishedAt = new Date();
+            job.update(ReportJobStatus.FAILED);
+        }
+    }
+
+    private Job find(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new BusinessException("报告生成任务不存在或已过期", HttpStatus.NOT_FOUND);
+        }
+        return job;
+    }
+
+    /**
+     * 单个报告生成任务
+     */
+    private static final class Job {
+
+        private final String id;
+        private final Date createdAt = new Date();
+
+        /**
+         * 只保留最新状态，后到的订阅者直接收到当前状态
+         */
+        private final Sinks.Many<ReportJobResponse> sink = Sinks.many().replay().latest();
+
+        private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        private volatile ReportModelResponse result;
+        private volatile String error;
+        private volatile Date startedAt;
+        private volatile Date finishedAt;
+
+        private Job(String id) {
+            this.id = id;
+            sink.tryEmitNext(snapshot());
+        }
+
+        /**
+         * 状态只由执行任务的线程修改，推送新状态，最终状态后关闭通道
+         */
+        private void update(ReportJobStatus status) {
+            this.status = status;
+            sink.tryEmitNext(snapshot());
+            if (status.isTerminal()) {
+                sink.tryEmitComplete();
+            }
+        }
+
+        private ReportJobResponse snapshot() {
+            return ReportJobResponse.builder()
+                    .jobId(id)
+                    .status(status)
+                    .result(result)
+                    .error(error)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -2,25 +2,47 @@ package com.misuzu.service.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.misuzu.entity.Report;
+import com.misuzu.entity.ReportSection;
+import com.misuzu.exception.BusinessException;
+import com.misuzu.exception.TooManyRequestsException;
 import com.misuzu.model.dto.ReportModelRequest;
 import com.misuzu.model.dto.ReportModelResponse;
+import com.misuzu.model.dto.ReportStreamEvent;
+import com.misuzu.repository.ReportRepository;
+import com.misuzu.service.ReportCacheService;
 import com.misuzu.service.ReportService;
+import com.misuzu.util.LruCache;
+import com.misuzu.util.ReportJsonStreamParser;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.Date;
@@ -39,6 +61,7 @@ import com.itextpdf.text.PageSize;
 
 /**
  * 报告服务实现类
+ * 报告保存在reports/report_sections表中，读取时先查容量有限的LRU缓存
  */
 @Slf4j
 @Service
@@ -56,9 +79,44 @@ public class ReportServiceImpl implements ReportService {
     @Value("ernie-3.5-8k")
     private String modelName;
 
-    private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private final ReportRepository reportRepository;
+    private final ReportCacheService reportCacheService;
+
+    /**
+     * 已保存报告的读缓存，PDF导出等读取请求优先命中缓存
+     */
+    private final LruCache<Long, ReportModelResponse> reportCache;
+
+    /**
+     * 共享的大模型HTTP客户端，连接池、超时及按主机并发限制见ModelHttpClientConfig
+     */
+    private final RestTemplate restTemplate;
+
+    /**
+     * 流式生成在报告生成线程池中读取大模型响应，不占用请求线程
+     */
+    private final ThreadPoolTaskExecutor reportExecutor;
+
+    /**
+     * 线程池已满时返回给客户端的重试等待秒数，与报告生成任务一致
+     */
+    @Value("${report.jobs.retry-after-seconds:10}")
+    private long retryAfterSeconds;
+
+    public ReportServiceImpl(ReportRepository reportRepository,
+                             ReportCacheService reportCacheService,
+                             @Value("${report.cache.max-entries:256}") int cacheMaxEntries,
+                             @Qualifier("modelRestTemplate") RestTemplate restTemplate,
+                             @Qualifier("reportGenerationExecutor") ThreadPoolTaskExecutor reportExecutor) {
+        this.reportRepository = reportRepository;
+        this.reportCacheService = reportCacheService;
+        this.reportCache = new LruCache<>(cacheMaxEntries);
+        this.restTemplate = restTemplate;
+        this.reportExecutor = reportExecutor;
+    }
+
     /**
      * 使用大模型生成报告内容
      * 实际项目中，这里会调用外部AI服务，如文心大模型API
@@ -74,7 +132,14 @@ public class ReportServiceImpl implements ReportService {
             request.getDateRange() != null ? Arrays.toString(request.getDateRange()) : "未指定");
         
         try {
-            // 在实际项目中，这里会调用AI大模型API
+            // 相同请求且训练数据未变化时直接返回上次的生成结果
+            ReportCacheService.Key cacheKey = reportCacheService.key(request);
+            ReportModelResponse cached = reportCacheService.get(cacheKey);
+            if (cached != null) {
+                log.info("命中报告缓存，跳过大模型调用");
+                return cached;
+            }
+
             log.debug("准备调用AI大模型API");
             
             // 调用文心大模型API生成内容
@@ -82,8 +147,13 @@ public class ReportServiceImpl implements ReportService {
             if (content != null) {
                 log.debug("成功获取AI大模型生成内容");
                 
-                // 解析AI生成的内容，提取需要的信息
-                return parseModelResponse(content, request);
+                // 解析AI生成的内容，提取需要的信息；只缓存按JSON解析成功的结果，文本提取和模拟数据不缓存
+                ReportModelResponse response = parseJsonResponse(content);
+                if (response == null) {
+                    return parseFallbackResponse(content, request);
+                }
+                reportCacheService.put(cacheKey, response);
+                return response;
             }
             
             log.warn("AI大模型返回内容为空，使用默认模拟数据");
@@ -184,6 +254,181 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
+    @Override
+    public Flux<ReportStreamEvent> streamModelAnalysis(ReportModelRequest request) {
+        ReportCacheService.Key cacheKey = reportCacheService.key(request);
+        ReportModelResponse cached = reportCacheService.get(cacheKey);
+        if (cached != null) {
+            log.info("命中报告缓存，直接推送结果");
+            return Flux.fromIterable(toEvents(cached));
+        }
+
+        // 在返回事件流之前就提交到线程池，队列满时在请求线程上抛出429，而不是在响应已开始后才推送错误
+        Sinks.Many<ReportStreamEvent> sink = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        try {
+            reportExecutor.execute(() -> generateStream(request, cacheKey, sink, cancelled::get));
+        } catch (TaskRejectedException e) {
+            throw new TooManyRequestsException("报告生成任务过多，请稍后重试", retryAfterSeconds);
+        }
+        return sink.asFlux().doOnCancel(() -> cancelled.set(true));
+    }
+
+    /**
+     * 在报告线程池中调用大模型并逐个发出事件，只有这一个线程向sink写入
+     */
+    private void generateStream(ReportModelRequest request, ReportCacheService.Key cacheKey,
+                                Sinks.Many<ReportStreamEvent> sink, BooleanSupplier cancelled) {
+        long start = System.currentTimeMillis();
+        StringBuilder content = new StringBuilder();
+        ReportJsonStreamParser parser = new ReportJsonStreamParser(new ReportJsonStreamParser.Listener() {
+            @Override
+            public void onField(String name, String value) {
+                sink.tryEmitNext(ReportStreamEvent.builder().type(ReportStreamEvent.FIELD).field(name).value(value).build());
+            }
+
+            @Override
+            public void onSection(int index, ReportModelResponse.Section section) {
+                if (index == 0) {
+                    log.info("首个报告章节已生成，耗时: {}ms", System.currentTimeMillis() - start);
+                }
+                sink.tryEmitNext(ReportStreamEvent.builder().type(ReportStreamEvent.SECTION)
+                        .index(index).section(section).build());
+            }
+        });
+        try {
+            streamBaiduModelAPI(request, content, parser, cancelled);
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+            // 完整内容再按非流式的逻辑解析一次，增量解析失败或内容不规范时也能得到完整报告
+            ReportModelResponse response = parseJsonResponse(content.toString());
+            if (response != null) {
+                reportCacheService.put(cacheKey, response);
+            } else {
+                response = parseFallbackResponse(content.toString(), request);
+            }
+            sink.tryEmitNext(ReportStreamEvent.builder().type(ReportStreamEvent.DONE).report(response).build());
+            sink.tryEmitComplete();
+            log.info("流式报告生成完成，耗时: {}ms", System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("流式生成报告失败: {}", e.getMessage(), e);
+            sink.tryEmitNext(ReportStreamEvent.builder().type(ReportStreamEvent.ERROR)
+                    .error("生成报告内容失败: " + e.getMessage()).build());
+            sink.tryEmitComplete();
+        }
+    }
+
+    /**
+     * 以流式模式调用大模型，逐个读取SSE数据块，文本片段追加到content并送入增量解析器
+     *
+     * @param request 报告请求对象
+     * @param content 累积的完整输出
+     * @param parser 增量解析器
+     * @param cancelled 客户端是否已断开，断开后停止读取并关闭连接
+     */
+    private void streamBaiduModelAPI(ReportModelRequest request, StringBuilder content,
+                                     ReportJsonStreamParser parser, BooleanSupplier cancelled) throws Exception {
+        Map<String, Object> requestBody = buildRequestBody(request);
+        requestBody.put("stream", true);
+
+        restTemplate.execute(baseUrl + apiEndpoint, HttpMethod.POST, httpRequest -> {
+            httpRequest.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            httpRequest.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+            httpRequest.getHeaders().set("Authorization", "Bearer " + apiKey);
+            objectMapper.writeValue(httpRequest.getBody(), requestBody);
+        }, httpResponse -> {
+            boolean parsable = true;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(httpResponse.getBody(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null && !cancelled.getAsBoolean()) {
+                    if (!line.startsWith("data:")) {
+                        continue;
+                    }
+                    String data = line.substring(5).trim();
+                    if ("[DONE]".equals(data)) {
+                        break;
+                    }
+                    JsonNode chunk = objectMapper.readTree(data);
+                    if (chunk.has("error")) {
+                        throw new IllegalStateException(chunk.get("error").path("message").asText("大模型返回错误"));
+                    }
+                    JsonNode delta = chunk.path("choices").path(0).path("delta").path("content");
+                    if (!delta.isTextual()) {
+                        continue;
+                    }
+                    content.append(delta.asText());
+                    if (parsable) {
+                        try {
+                            parser.feed(delta.asText());
+                        } catch (IOException e) {
+                            // 输出不是规范的JSON时停止增量推送，结束后按完整文本解析
+                            log.warn("增量解析报告内容失败，改为完整解析: {}", e.getMessage());
+                            parsable = false;
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 将完整报告拆成与流式生成相同的事件序列
+     */
+    private List<ReportStreamEvent> toEvents(ReportModelResponse report) {
+        List<ReportStreamEvent> events = new ArrayList<>();
+        events.add(ReportStreamEvent.builder().type(ReportStreamEvent.FIELD).field("title").value(report.getTitle()).build());
+        events.add(ReportStreamEvent.builder().type(ReportStreamEvent.FIELD).field("summary").value(report.getSummary()).build());
+        for (int i = 0; i < report.getSections().size(); i++) {
+            events.add(ReportStreamEvent.builder().type(ReportStreamEvent.SECTION)
+                    .index(i).section(report.getSections().get(i)).build());
+        }
+        events.add(ReportStreamEvent.builder().type(ReportStreamEvent.FIELD).field("conclusion")
+                .value(report.getConclusion()).build());
+        events.add(ReportStreamEvent.builder().type(ReportStreamEvent.FIELD).field("suggestions")
+                .value(report.getSuggestions()).build());
+        events.add(ReportStreamEvent.builder().type(ReportStreamEvent.DONE).report(report).build());
+        return events;
+    }
+
+    /**
+     * 构建大模型请求体
+     * 
+     * @param request 报告请求对象
+     * @return 请求体
+     */
+    private Map<String, Object> buildRequestBody(ReportModelRequest request) {
+        // 构建提示语
+        String prompt = buildPrompt(request);
+        log.debug("构建的提示语: {}", prompt);
+        
+        // 构建请求体
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", modelName);
+        
+        List<Map<String, String>> messages = new ArrayList<>();
+        
+        // 添加系统消息
+        Map<String, String> systemMessage = new HashMap<>();
+        systemMessage.put("role", "system");
+        systemMessage.put("content", "你是一个专业的乒乓球教练和分析师，擅长分析训练数据并提供针对性的建议。请基于用户提供的信息生成一份专业的训练分析报告。");
+        messages.add(systemMessage);
+        
+        // 添加用户消息
+        Map<String, String> userMessage = new HashMap<>();
+        userMessage.put("role", "user");
+        userMessage.put("content", prompt);
+        messages.add(userMessage);
+        
+        requestBody.put("messages", messages);
+        requestBody.put("temperature", 0.7);
+        requestBody.put("top_p", 0.8);
+        
+        return requestBody;
+    }
+
     /**
      * 调用百度文心大模型API
      * 
@@ -201,31 +446,7 @@ public class ReportServiceImpl implements ReportService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             headers.set("Authorization", "Bearer " + apiKey);
             
-            // 构建提示语
-            String prompt = buildPrompt(request);
-            log.debug("构建的提示语: {}", prompt);
-            
-            // 构建请求体
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", modelName);
-            
-            List<Map<String, String>> messages = new ArrayList<>();
-            
-            // 添加系统消息
-            Map<String, String> systemMessage = new HashMap<>();
-            systemMessage.put("role", "system");
-            systemMessage.put("content", "你是一个专业的乒乓球教练和分析师，擅长分析训练数据并提供针对性的建议。请基于用户提供的信息生成一份专业的训练分析报告。");
-            messages.add(systemMessage);
-            
-            // 添加用户消息
-            Map<String, String> userMessage = new HashMap<>();
-            userMessage.put("role", "user");
-            userMessage.put("content", prompt);
-            messages.add(userMessage);
-            
-            requestBody.put("messages", messages);
-            requestBody.put("temperature", 0.7);
-            requestBody.put("top_p", 0.8);
+            Map<String, Object> requestBody = buildRequestBody(request);
             
             // 发送请求
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
@@ -351,13 +572,12 @@ public class ReportServiceImpl implements ReportService {
     }
     
     /**
-     * 解析模型响应
+     * 按JSON解析模型响应
      * 
      * @param content 大模型返回的内容
-     * @param request 报告请求对象
-     * @return 报告响应对象
+     * @return 报告响应对象，内容不是合法JSON时返回null
      */
-    private ReportModelResponse parseModelResponse(String content, ReportModelRequest request) {
+    private ReportModelResponse parseJsonResponse(String content) {
         try {
             // 预处理：移除可能导致JSON解析错误的字符
             String sanitizedContent = sanitizeJsonContent(content);
@@ -405,16 +625,25 @@ public class ReportServiceImpl implements ReportService {
             
         } catch (Exception e) {
             log.error("解析模型响应出错: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 模型响应不是合法JSON时，尝试从文本中提取信息，仍失败时使用默认内容
+     * 
+     * @param content 大模型返回的内容
+     * @param request 报告请求对象
+     * @return 报告响应对象
+     */
+    private ReportModelResponse parseFallbackResponse(String content, ReportModelRequest request) {
+        try {
+            return extractReportFromText(content, request);
+        } catch (Exception ex) {
+            log.error("从文本提取报告信息出错: {}", ex.getMessage(), ex);
             
-            // 尝试从文本中提取信息
-            try {
-                return extractReportFromText(content, request);
-            } catch (Exception ex) {
-                log.error("从文本提取报告信息出错: {}", ex.getMessage(), ex);
-                
-                // 使用默认值构建响应
-                return buildDefaultResponse(request);
-            }
+            // 使用默认值构建响应
+            return buildDefaultResponse(request);
         }
     }
     
@@ -634,33 +863,40 @@ public class ReportServiceImpl implements ReportService {
      */
     @Override
     public Long saveReport(Object reportData) {
+        ReportModelResponse report;
         try {
-            log.info("保存报告数据: {}", objectMapper.writeValueAsString(reportData));
-            
-            // 生成唯一的报告ID
-            Long reportId = System.currentTimeMillis();
-            
-            // 将对象转换为Map并保存到内存存储中
-            // 实际项目中应该保存到数据库
-            if (reportData instanceof Map) {
-                // 如果已经是Map，直接保存
-                @SuppressWarnings("unchecked")
-                Map<String, Object> reportMap = (Map<String, Object>) reportData;
-                tempReportStorage.put(reportId, reportMap);
-            } else {
-                // 如果不是Map，先转换为JSON再转回Map
-                String jsonData = objectMapper.writeValueAsString(reportData);
-                @SuppressWarnings("unchecked")
-                Map<String, Object> reportMap = objectMapper.readValue(jsonData, Map.class);
-                tempReportStorage.put(reportId, reportMap);
-            }
-            
-            log.info("报告保存成功，ID: {}", reportId);
-            return reportId;
-        } catch (Exception e) {
-            log.error("保存报告失败: {}", e.getMessage(), e);
-            throw new RuntimeException("保存报告失败: " + e.getMessage());
+            // 统一转换为Map后按字段读取，兼容前端提交的任意JSON结构
+            @SuppressWarnings("unchecked")
+            Map<String, Object> reportMap = reportData instanceof Map
+                    ? (Map<String, Object>) reportData
+                    : objectMapper.convertValue(reportData, Map.class);
+            report = convertMapToReportResponse(reportMap);
+        } catch (IllegalArgumentException e) {
+            log.error("报告数据格式错误: {}", e.getMessage(), e);
+            report = null;
+        }
+        if (report == null) {
+            throw new BusinessException("报告数据格式错误");
+        }
+
+        Date now = new Date();
+        List<ReportSection> sections = new ArrayList<>();
+        for (ReportModelResponse.Section section : report.getSections()) {
+            sections.add(new ReportSection(section.getTitle(), section.getContent()));
         }
+        Report saved = reportRepository.save(Report.builder()
+                .title(report.getTitle())
+                .summary(report.getSummary())
+                .conclusion(report.getConclusion())
+                .suggestions(report.getSuggestions())
+                .sections(sections)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        reportCache.put(saved.getId(), report);
+        log.info("报告保存成功，ID: {}, 章节数: {}", saved.getId(), sections.size());
+        return saved.getId();
     }
     
     /**
@@ -674,12 +910,9 @@ public class ReportServiceImpl implements ReportService {
         log.info("开始导出报告PDF，报告ID: {}", reportId);
         
         try {
-            // 从保存的报告数据中获取真实内容，而不是使用模拟数据
             ReportModelResponse reportData = getReportData(reportId);
-            
             if (reportData == null) {
-                log.warn("找不到报告ID: {}的数据，使用模拟数据", reportId);
-                reportData = getMockReportData(reportId);
+                throw new BusinessException("报告不存在: " + reportId, HttpStatus.NOT_FOUND);
             }
             
             // 创建PDF文档
@@ -754,6 +987,8 @@ public class ReportServiceImpl implements ReportService {
             log.info("PDF导出成功，大小: {} 字节", pdfBytes.length);
             return pdfBytes;
             
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("PDF导出失败: {}", e.getMessage(), e);
             throw new RuntimeException("PDF导出失败: " + e.getMessage());
@@ -761,39 +996,39 @@ public class ReportServiceImpl implements ReportService {
     }
     
     /**
-     * 从数据存储中获取报告数据（当前为模拟实现）
-     * 实际项目中，这里应该查询数据库获取真实报告数据
+     * 获取已保存的报告数据，先查缓存，未命中时读取数据库并写入缓存
      * 
      * @param reportId 报告ID
      * @return 报告数据，如果不存在则返回null
      */
     private ReportModelResponse getReportData(Long reportId) {
-        try {
-            log.info("尝试获取已保存的报告数据，ID: {}", reportId);
-            
-            // TODO: 实际项目中，这里应该查询数据库获取报告数据
-            // 当前使用内存模拟存储，实际项目中应使用数据库查询
-            
-            // 检查是否由saveReport方法保存过的报告
-            Map<String, Object> savedReport = tempReportStorage.get(reportId);
-            if (savedReport != null) {
-                log.info("找到已保存的报告数据");
-                
-                // 转换保存的JSON数据为ReportModelResponse对象
-                return convertMapToReportResponse(savedReport);
-            }
-            
-            return null;
-        } catch (Exception e) {
-            log.error("获取报告数据失败: {}", e.getMessage(), e);
+        ReportModelResponse cached = reportCache.get(reportId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Report report = reportRepository.findWithSectionsById(reportId).orElse(null);
+        if (report == null) {
             return null;
         }
+        List<ReportModelResponse.Section> sections = new ArrayList<>();
+        for (ReportSection section : report.getSections()) {
+            sections.add(ReportModelResponse.Section.builder()
+                    .title(section.getTitle())
+                    .content(section.getContent())
+                    .build());
+        }
+        ReportModelResponse response = ReportModelResponse.builder()
+                .title(report.getTitle())
+                .summary(report.getSummary())
+                .sections(sections)
+                .conclusion(report.getConclusion())
+                .suggestions(report.getSuggestions())
+                .build();
+        reportCache.put(reportId, response);
+        return response;
     }
     
-    // 简单的内存存储，用于模拟数据库
-    // 实际项目中应该使用数据库存储
-    private static final Map<Long, Map<String, Object>> tempReportStorage = new HashMap<>();
-    
     /**
      * 将Map转换为ReportModelResponse对象
      * 
@@ -834,40 +1069,4 @@ public class ReportServiceImpl implements ReportService {
             return null;
         }
     }
-
-    /**
-     * 获取模拟报告数据（实际项目中应从数据库获取）
-     * 
-     * @param reportId 报告ID
-     * @return 报告数据
-     */
-    private ReportModelResponse getMockReportData(Long reportId) {
-        log.info("获取报告数据，ID: {}", reportId);
-        
-        // 创建模拟章节
-        List<ReportModelResponse.Section> sections = new ArrayList<>();
-        sections.add(ReportModelResponse.Section.builder()
-                .title("正手技术分析")
-                .content("正手击球动作规范度提升了15%，力量和速度也有明显提高。击球点位置把握更加准确，但在高速球处理时仍有不稳定情况。建议增加高速球应对训练，提高应变能力。")
-                .build());
-        
-        sections.add(ReportModelResponse.Section.builder()
-                .title("反手技术分析")
-                .content("反手技术相比上月有5%的提升，但仍是相对薄弱环节。反手拉球质量不够稳定，特别是处理旋转球时。建议加强反手基本功训练，增加对不同旋转球的适应性训练。")
-                .build());
-        
-        sections.add(ReportModelResponse.Section.builder()
-                .title("步法移动分析")
-                .content("步法移动速度有所提升，但在快速变向和大范围移动时仍显不足。建议增加专项体能训练和步法训练，提高移动速度和协调性。")
-                .build());
-        
-        // 创建完整报告响应
-        return ReportModelResponse.builder()
-                .title("乒乓球训练分析报告")
-                .summary("本报告基于近期的训练数据和视频分析，对训练效果进行了全面评估，并提出有针对性的训练建议。通过分析发现，技术水平整体呈上升趋势，但各项技术发展不均衡，需要有针对性地加强训练。")
-                .sections(sections)
-                .conclusion("总体而言，训练效果良好，技术水平呈上升趋势。正手技术是最大优势，反手技术和步法移动是需要重点提升的方向。建议保持现有训练强度，并针对薄弱环节进行专项训练。")
-                .suggestions("1. 每周安排2次反手专项训练，重点提高反手稳定性和应对旋转球的能力。\n2. 增加步法训练频率，每次训练前进行15分钟的专项步法练习。\n3. 安排1-2次对抗训练，提高实战应变能力。\n4. 使用视频录制训练过程，进行动作比对和纠正。")
-                .build();
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.dto.ThumbnailResult;
+import com.misuzu.service.ThumbnailService;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.Java2DFrameConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 视频缩略图服务实现类
+ * 每个时间点只跳转到最近的关键帧并解码一帧，不从头解码整个视频
+ */
+@Slf4j
+@Service
+public class ThumbnailServiceImpl implements ThumbnailService {
+
+    @Value("${file.thumbnail.location}")
+    private String thumbnailPath;
+
+    @Value("${file.thumbnail.width:320}")
+    private int thumbnailWidth;
+
+    @Value("${file.thumbnail.poster-count:5}")
+    private int posterCount;
+
+    @Value("${file.thumbnail.sprite-columns:10}")
+    private int spriteColumns;
+
+    @Value("${file.thumbnail.sprite-rows:10}")
+    private int spriteRows;
+
+    @Value("${file.thumbnail.sprite-tile-width:160}")
+    private int spriteTileWidth;
+
+    @Override
+    public ThumbnailResult generate(Integer videoId, Path videoPath) throws IOException {
+        Path outputDir = Paths.get(thumbnailPath, String.valueOf(videoId));
+        Files.createDirectories(outputDir);
+
+        Java2DFrameConverter converter = new Java2DFrameConverter();
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoPath.toFile())) {
+            // 解码器只输出关键帧，跳转后拿到的第一帧即为关键帧，非关键帧不做解码
+            grabber.setVideoOption("skip_frame", "nokey");
+            grabber.start();
+
+            long lengthMicros = Math.max(grabber.getLengthInTime(), 0);
+
+            // 海报帧均匀分布在视频中间区域，避开片头片尾
+            List<String> posterUrls = new ArrayList<>();
+            String thumbnailUrl = null;
+            for (int i = 0; i < posterCount; i++) {
+                long timestamp = lengthMicros * (i + 1) / (posterCount + 1);
+                BufferedImage image = grabAt(grabber, converter, timestamp);
+                if (image == null) {
+                    continue;
+                }
+                // converter会复用同一个BufferedImage，必须在下一次抓帧前写出
+                Path poster = outputDir.resolve("poster_" + i + ".jpg");
+                ImageIO.write(image, "jpg", poster.toFile());
+                posterUrls.add(poster.toString());
+
+                if (thumbnailUrl == null) {
+                    Path thumbnail = outputDir.resolve("thumbnail.jpg");
+                    ImageIO.write(scale(image, thumbnailWidth), "jpg", thumbnail.toFile());
+                    thumbnailUrl = thumbnail.toString();
+                }
+            }
+
+            ThumbnailResult.ThumbnailResultBuilder result = ThumbnailResult.builder()
+                    .thumbnailUrl(thumbnailUrl)
+                    .posterUrls(posterUrls);
+            if (lengthMicros > 0 && grabber.getImageWidth() > 0 && grabber.getImageHeight() > 0) {
+                writeSprite(grabber, converter, lengthMicros, outputDir, result);
+            }
+            grabber.stop();
+            return result.build();
+        }
+    }
+
+    /**
+     * 生成雪碧图，按时间顺序向前跳转，每格只解码一个关键帧
+     */
+    private void writeSprite(FFmpegFrameGrabber grabber, Java2DFrameConverter converter, long lengthMicros,
+                             Path outputDir, ThumbnailResult.ThumbnailResultBuilder result) throws IOException {
+        int tiles = spriteColumns * spriteRows;
+        int tileHeight = Math.max(1, spriteTileWidth * grabber.getImageHeight() / grabber.getImageWidth());
+        long intervalMicros = lengthMicros / tiles;
+
+        BufferedImage sprite = new BufferedImage(spriteColumns * spriteTileWidth, spriteRows * tileHeight,
+                BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = sprite.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            for (int i = 0; i < tiles; i++) {
+                BufferedImage image = grabAt(grabber, converter, i * intervalMicros);
+                if (image == null) {
+                    break;
+                }
+                int x = (i % spriteColumns) * spriteTileWidth;
+                int y = (i / spriteColumns) * tileHeight;
+                g.drawImage(image, x, y, spriteTileWidth, tileHeight, null);
+            }
+        } finally {
+            g.dispose();
+        }
+
+        Path spritePath = outputDir.resolve("sprite.jpg");
+        ImageIO.write(sprite, "jpg", spritePath.toFile());
+        result.spriteUrl(spritePath.toString())
+                .spriteColumns(spriteColumns)
+                .spriteRows(spriteRows)
+                .spriteIntervalMillis(intervalMicros / 1000);
+    }
+
+    /**
+     * 跳转到时间点之前最近的关键帧并解码一帧
+     *
+     * @return 解码后的图像，视频结束时返回null
+     */
+    private BufferedImage grabAt(FFmpegFrameGrabber grabber, Java2DFrameConverter converter, long timestamp)
+            throws IOException {
+        // checkFrame为false时只做容器级关键帧跳转，不逐帧解码到精确时间点
+        grabber.setTimestamp(timestamp, false);
+        Frame frame = grabber.grabImage();
+        if (frame == null || frame.image == null) {
+            return null;
+        }
+        return converter.convert(frame);
+    }
+
+    private BufferedImage scale(BufferedImage source, int width) {
+        int height = Math.max(1, width * source.getHeight() / source.getWidth());
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+}
@@ -0,0 +1,390 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.analysis.BallDetector;
+import com.misuzu.analysis.BallDetectorOptions;
+import com.misuzu.analysis.MotionFilter;
+import com.misuzu.analysis.TrajectoryFile;
+import com.misuzu.dto.StaticInterval;
+import com.misuzu.dto.TrajectoryAnalysis;
+import com.misuzu.dto.TrajectoryPoint;
+import com.misuzu.entity.Video;
+import com.misuzu.exception.BusinessException;
+import com.misuzu.repository.VideoRepository;
+import com.misuzu.service.TrajectoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.ffmpeg.avcodec.AVPacket;
+import org.bytedeco.ffmpeg.avutil.AVRational;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.Frame;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import static org.bytedeco.ffmpeg.global.avcodec.AV_PKT_FLAG_KEY;
+import static org.bytedeco.ffmpeg.global.avcodec.av_packet_unref;
+import static org.bytedeco.ffmpeg.global.avutil.AV_NOPTS_VALUE;
+
+/**
+ * 球轨迹分析服务实现类
+ * 先扫描数据包建立关键帧索引（只读不解码），再按关键帧把视频切成若干分段，
+ * 每个分段使用独立的grabber和检测器在fork/join线程池中并行解码分析，最后按时间顺序合并。
+ * 检测前先做帧间亮度差分，长时间静止的画面（捡球、讲解）跳过球体检测。
+ */
+@Slf4j
+@Service
+public class TrajectoryServiceImpl implements TrajectoryService {
+
+    /**
+     * 每解码多少帧汇报一次进度
+     */
+    private static final int PROGRESS_INTERVAL_FRAMES = 30;
+
+    private final VideoRepository videoRepository;
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * 检测时的画面宽度，原始分辨率更高时按比例缩小
+     */
+    @Value("${video.trajectory.process-width:640}")
+    private int processWidth;
+
+    @Value("${video.trajectory.min-area:4}")
+    private int minArea;
+
+    @Value("${video.trajectory.max-area:400}")
+    private int maxArea;
+
+    @Value("${video.trajectory.min-confidence:0.3}")
+    private float minConfidence;
+
+    /**
+     * 每个分段的最短时长，过短的分段会被合并
+     */
+    @Value("${video.trajectory.min-segment-seconds:10}")
+    private int minSegmentSeconds;
+
+    /**
+     * 分段开始前额外解码的时长，用于背景模型预热，这部分帧不输出轨迹点
+     */
+    @Value("${video.trajectory.warmup-millis:2000}")
+    private long warmupMillis;
+
+    /**
+     * 静止过滤：网格边长（像素）、亮度采样间隔（像素）、网格内亮度平均绝对差的阈值，以及静止多久后开始跳过检测
+     */
+    @Value("${video.trajectory.motion-cell-size:16}")
+    private int motionCellSize;
+
+    @Value("${video.trajectory.motion-sample-step:4}")
+    private int motionSampleStep;
+
+    @Value("${video.trajectory.motion-threshold:10}")
+    private int motionThreshold;
+
+    @Value("${video.trajectory.min-static-millis:1000}")
+    private long minStaticMillis;
+
+    @Value("${file.trajectory.location:uploads/trajectories}")
+    private String trajectoryPath;
+
+    public TrajectoryServiceImpl(VideoRepository videoRepository,
+                                 @Qualifier("trajectoryForkJoinPool") ForkJoinPool forkJoinPool) {
+        this.videoRepository = videoRepository;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    @Override
+    public List<TrajectoryPoint> detect(Path videoPath) throws IOException {
+        return detectAll(videoPath, percent -> { }).points;
+    }
+
+    @Override
+    public TrajectoryAnalysis analyse(Integer videoId, Path videoPath, IntConsumer progress) throws IOException {
+        SegmentResult result = detectAll(videoPath, progress);
+        Path outputDir = Paths.get(trajectoryPath);
+        Files.createDirectories(outputDir);
+        Path target = outputDir.resolve(videoId + ".traj");
+        TrajectoryFile.write(target, result.points);
+        return TrajectoryAnalysis.builder()
+                .trajectoryUrl(target.toString())
+                .pointCount(result.points.size())
+                .frameCount(result.frames)
+                .skippedFrames(result.skippedFrames)
+                .staticIntervals(result.intervals)
+                .build();
+    }
+
+    @Override
+    public List<TrajectoryPoint> getTrajectory(Integer videoId, Long fromMillis, Long toMillis) {
+        Video video = videoRepository.findById(videoId)
+                .orElseThrow(() -> new BusinessException("视频不存在", HttpStatus.NOT_FOUND));
+        if (video.getTrajectoryUrl() == null) {
+            throw new BusinessException("视频轨迹尚未生成", HttpStatus.CONFLICT);
+        }
+        try {
+            return TrajectoryFile.open(Paths.get(video.getTrajectoryUrl())).read(
+                    fromMillis != null ? fromMillis : Long.MIN_VALUE,
+                    toMillis != null ? toMillis : Long.MAX_VALUE);
+        } catch (IOException e) {
+            log.error("读取轨迹文件失败: {}", video.getTrajectoryUrl(), e);
+            throw new BusinessException("读取轨迹失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private SegmentResult detectAll(Path videoPath, IntConsumer progress) throws IOException {
+        long start = System.nanoTime();
+        KeyframeIndex index = scanKeyframes(videoPath);
+        List<Long> boundaries = planSegments(index.keyframes);
+        ProgressTracker tracker = new ProgressTracker(index.durationMicros, progress);
+
+        SegmentResult result;
+        try {
+            result = forkJoinPool.invoke(new SegmentTask(videoPath, boundaries, 0, boundaries.size() - 1, tracker));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        log.info("轨迹检测完成: {}, 分段数: {}, 轨迹点: {}, 帧数: {}, 静止跳过: {}, 耗时: {}ms",
+                videoPath, boundaries.size() - 1, result.points.size(), result.frames, result.skippedFrames, elapsed);
+        return result;
+    }
+
+    /**
+     * 读取视频流的所有关键帧时间戳（微秒），只解析数据包，不做解码
+     */
+    private KeyframeIndex scanKeyframes(Path videoPath) throws IOException {
+        List<Long> keyframes = new ArrayList<>();
+        long duration;
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoPath.toFile())) {
+            grabber.start();
+            duration = grabber.getLengthInTime();
+            int videoStream = grabber.getVideoStream();
+            AVRational timeBase = grabber.getFormatContext().streams(videoStream).time_base();
+
+            AVPacket packet;
+            while ((packet = grabber.grabPacket()) != null) {
+                if (packet.stream_index() == videoStream && (packet.flags() & AV_PKT_FLAG_KEY) != 0) {
+                    long pts = packet.pts() != AV_NOPTS_VALUE ? packet.pts() : packet.dts();
+                    if (pts != AV_NOPTS_VALUE) {
+                        keyframes.add(1_000_000L * pts * timeBase.num() / timeBase.den());
+                    }
+                }
+                av_packet_unref(packet);
+            }
+            grabber.stop();
+        }
+        if (duration <= 0 && !keyframes.isEmpty()) {
+            duration = keyframes.get(keyframes.size() - 1);
+        }
+        return new KeyframeIndex(keyframes, duration);
+    }
+
+    /**
+     * 根据关键帧确定分段边界，分段数约为并行度的4倍以便负载均衡
+     *
+     * @return 边界列表，第i段为[boundaries[i], boundaries[i+1])，首尾为无界
+     */
+    private List<Long> planSegments(List<Long> keyframes) {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(Long.MIN_VALUE);
+        if (keyframes.size() > 1) {
+            long first = keyframes.get(0);
+            long span = keyframes.get(keyframes.size() - 1) - first;
+            int targetSegments = forkJoinPool.getParallelism() * 4;
+            long step = Math.max(span / targetSegments, minSegmentSeconds * 1_000_000L);
+
+            long next = first + step;
+            for (long keyframe : keyframes) {
+                if (keyframe >= next) {
+                    boundaries.add(keyframe);
+                    next = keyframe + step;
+                }
+            }
+        }
+        boundaries.add(Long.MAX_VALUE);
+        return boundaries;
+    }
+
+    /**
+     * 解码并分析一个分段，只输出时间戳位于[start, end)内的轨迹点
+     */
+    private SegmentResult detectSegment(Path videoPath, long start, long end, ProgressTracker tracker)
+            throws IOException {
+        SegmentResult result = new SegmentResult();
+        MotionFilter motionFilter = new MotionFilter(motionCellSize, motionSampleStep, motionThreshold,
+                minStaticMillis);
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoPath.toFile());
+             BallDetector detector = new BallDetector(detectorOptions())) {
+            // 并行度由fork/join线程池控制，单个解码器只使用一个线程
+            grabber.setVideoOption("threads", "1");
+            grabber.start();
+
+            int sourceWidth = grabber.getImageWidth();
+            int sourceHeight = grabber.getImageHeight();
+            int width = Math.min(processWidth, sourceWidth);
+            int height = Math.max(2, (sourceHeight * width / sourceWidth) & ~1);
+            grabber.setImageWidth(width);
+            grabber.setImageHeight(height);
+            float scaleX = (float) sourceWidth / width;
+            float scaleY = (float) sourceHeight / height;
+
+            if (start != Long.MIN_VALUE) {
+                // 跳转到预热起点之前的关键帧，背景模型在预热期间建立
+                grabber.setTimestamp(Math.max(0, start - warmupMillis * 1000), false);
+            }
+
+            long reported = Math.max(start, 0);
+            Frame frame;
+            while ((frame = grabber.grabImage()) != null && frame.timestamp < end) {
+                // 预热帧始终参与背景建模，不做静止过滤
+                boolean inSegment = frame.timestamp >= start;
+                if (inSegment) {
+                    if (++result.frames % PROGRESS_INTERVAL_FRAMES == 0) {
+                        tracker.advance(frame.timestamp - reported);
+                        reported = frame.timestamp;
+                    }
+                    if (!motionFilter.accept(frame)) {
+                        continue;
+                    }
+                }
+                if (detector.detect(frame) && inSegment) {
+                    result.points.add(new TrajectoryPoint(frame.timestamp / 1000,
+                            detector.getX() * scaleX, detector.getY() * scaleY, detector.getConfidence()));
+                }
+            }
+            grabber.stop();
+            tracker.advance(Math.min(end, tracker.total) - reported);
+        }
+        result.intervals.addAll(motionFilter.finish());
+        result.skippedFrames = motionFilter.getSkippedFrames();
+        return result;
+    }
+
+    private BallDetectorOptions detectorOptions() {
+        return BallDetectorOptions.builder()
+                .minArea(minArea)
+                .maxArea(maxArea)
+                .minConfidence(minConfidence)
+                .build();
+    }
+
+    /**
+     * 分段分析任务，按分段区间二分拆分，合并时保持时间顺序
+     */
+    private final class SegmentTask extends RecursiveTask<SegmentResult> {
+
+        private final Path videoPath;
+        private final List<Long> boundaries;
+        private final int from;
+        private final int to;
+        private final ProgressTracker tracker;
+
+        private SegmentTask(Path videoPath, List<Long> boundaries, int from, int to, ProgressTracker tracker) {
+            this.videoPath = videoPath;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+            this.tracker = tracker;
+        }
+
+        @Override
+        protected SegmentResult compute() {
+            if (to - from == 1) {
+                try {
+                    return detectSegment(videoPath, boundaries.get(from), boundaries.get(to), tracker);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            int mid = (from + to) >>> 1;
+            SegmentTask left = new SegmentTask(videoPath, boundaries, from, mid, tracker);
+            SegmentTask right = new SegmentTask(videoPath, boundaries, mid, to, tracker);
+            left.fork();
+            SegmentResult rightResult = right.compute();
+            return left.join().append(rightResult);
+        }
+    }
+
+    /**
+     * 关键帧索引及视频时长（微秒）
+     */
+    private static final class KeyframeIndex {
+
+        private final List<Long> keyframes;
+        private final long durationMicros;
+
+        private KeyframeIndex(List<Long> keyframes, long durationMicros) {
+            this.keyframes = keyframes;
+            this.durationMicros = durationMicros;
+        }
+    }
+
+    /**
+     * 汇总各分段已解码的时长，百分比变化时回调，多个分段线程并发调用
+     */
+    private static final class ProgressTracker {
+
+        private final long total;
+        private final IntConsumer listener;
+        private final AtomicLong decoded = new AtomicLong();
+        private final AtomicInteger percent = new AtomicInteger();
+
+        private ProgressTracker(long total, IntConsumer listener) {
+            this.total = total > 0 ? total : Long.MAX_VALUE;
+            this.listener = listener;
+        }
+
+        private void advance(long micros) {
+            // 时长未知时无法计算百分比
+            if (micros <= 0 || total == Long.MAX_VALUE) {
+                return;
+            }
+            int current = (int) Math.min(100, decoded.addAndGet(micros) * 100 / total);
+            int previous = percent.get();
+            if (current > previous && percent.compareAndSet(previous, current)) {
+                listener.accept(current);
+            }
+        }
+    }
+
+    /**
+     * 分段分析结果
+     */
+    private static final class SegmentResult {
+
+        private List<TrajectoryPoint> points = new ArrayList<>();
+        private final List<StaticInterval> intervals = new ArrayList<>();
+        private int frames;
+        private int skippedFrames;
+
+        /**
+         * 追加时间上紧随其后的分段结果
+         */
+        private SegmentResult append(SegmentResult next) {
+            List<TrajectoryPoint> merged = new ArrayList<>(points.size() + next.points.size());
+            merged.addAll(points);
+            merged.addAll(next.points);
+            points = merged;
+            intervals.addAll(next.intervals);
+            frames += next.frames;
+            skippedFrames += next.skippedFrames;
+            return this;
+        }
+    }
+}
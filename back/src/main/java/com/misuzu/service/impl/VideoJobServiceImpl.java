@@ -0,0 +1,315 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.dto.VideoProgressEvent;
+import com.misuzu.entity.UserRole;
+import com.misuzu.entity.Video;
+import com.misuzu.entity.VideoJob;
+import com.misuzu.entity.VideoJobStatus;
+import com.misuzu.entity.VideoStatus;
+import com.misuzu.repository.VideoJobRepository;
+import com.misuzu.repository.VideoRepository;
+import com.misuzu.service.VideoJobService;
+import com.misuzu.service.VideoProcessingService;
+import com.misuzu.service.VideoProgressService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 视频处理任务队列服务实现类
+ * 定时按空闲线程数从video_jobs表领取任务，领取、续租、回收都在独立的短事务中完成，
+ * 视频处理本身不持有数据库连接
+ */
+@Slf4j
+@Service
+public class VideoJobServiceImpl implements VideoJobService {
+
+    /**
+     * 教练、管理员上传的视频的优先级，普通用户为0
+     */
+    private static final int COACH_PRIORITY = 10;
+
+    private final VideoJobRepository videoJobRepository;
+    private final VideoRepository videoRepository;
+    private final VideoProcessingService videoProcessingService;
+    private final VideoProgressService videoProgressService;
+    private final ThreadPoolTaskExecutor executor;
+    private final ThreadPoolTaskExecutor dispatchExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 本节点正在执行的视频，用于续租
+     */
+    private final Set<Integer> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 节点标识，为空时使用pid@hostname
+     */
+    @Value("${video.jobs.node-id:}")
+    private String nodeId;
+
+    @Value("${video.jobs.lease-seconds:120}")
+    private int leaseSeconds;
+
+    @Value("${video.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    /**
+     * 重试退避时长，第n次重试等待n倍该时长
+     */
+    @Value("${video.jobs.retry-backoff-seconds:30}")
+    private int retryBackoffSeconds;
+
+    public VideoJobServiceImpl(VideoJobRepository videoJobRepository,
+                               VideoRepository videoRepository,
+                               VideoProcessingService videoProcessingService,
+                               VideoProgressService videoProgressService,
+                               @Qualifier("videoProcessingExecutor") ThreadPoolTaskExecutor executor,
+                               @Qualifier("videoJobDispatchExecutor") ThreadPoolTaskExecutor dispatchExecutor,
+                               PlatformTransactionManager transactionManager,
+                               JdbcTemplate jdbcTemplate) {
+        this.videoJobRepository = videoJobRepository;
+        this.videoRepository = videoRepository;
+        this.videoProcessingService = videoProcessingService;
+        this.videoProgressService = videoProgressService;
+        this.executor = executor;
+        this.dispatchExecutor = dispatchExecutor;
+        this.jdbcTemplate = jdbcTemplate;
+        // 可能在其他事务提交后的回调中调用，始终开启新事务
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!StringUtils.hasText(nodeId)) {
+            nodeId = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        Integer[] recovered = transactionTemplate.execute(status -> new Integer[]{
+                videoJobRepository.resetOrphanedVideos(),
+                videoJobRepository.enqueueOrphans(new Date())});
+        log.info("视频任务队列启动, 节点: {}, 恢复PROCESSING视频: {}, 补建任务: {}", nodeId, recovered[0], recovered[1]);
+    }
+
+    @Override
+    public void enqueue(Video video) {
+        enqueueAll(List.of(video));
+    }
+
+    @Override
+    public void enqueueAll(List<Video> videos) {
+        if (videos.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate("INSERT INTO video_jobs (video_id, priority, status, attempts, available_at, "
+                        + "created_at, updated_at) VALUES (?, ?, ?, 0, ?, ?, ?)",
+                videos, videos.size(), (ps, video) -> {
+                    ps.setInt(1, video.getId());
+                    ps.setInt(2, priorityOf(video));
+                    ps.setString(3, VideoJobStatus.QUEUED.name());
+                    ps.setTimestamp(4, now);
+                    ps.setTimestamp(5, now);
+                    ps.setTimestamp(6, now);
+                });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    /**
+     * 在调度线程上异步领取任务，提交视频的请求线程不等待dispatch的锁和领取事务
+     */
+    private void wakeUp() {
+        dispatchExecutor.execute(this::dispatch);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${video.jobs.poll-interval-millis:2000}")
+    public synchronized void dispatch() {
+        if (nodeId == null || nodeId.isEmpty()) {
+            return;
+        }
+        int free = executor.getMaxPoolSize() - executor.getActiveCount()
+                - executor.getThreadPoolExecutor().getQueue().size();
+        if (free <= 0) {
+            return;
+        }
+
+        List<VideoJob> claimed = transactionTemplate.execute(status -> {
+            Date now = new Date();
+            List<VideoJob> jobs = videoJobRepository.lockQueued(now, free);
+            for (VideoJob job : jobs) {
+                job.setStatus(VideoJobStatus.RUNNING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setLeaseOwner(nodeId);
+                job.setLeaseExpiresAt(leaseExpiry(now));
+                job.setUpdatedAt(now);
+            }
+            return videoJobRepository.saveAll(jobs);
+        });
+
+        for (VideoJob job : claimed) {
+            running.add(job.getVideoId());
+            try {
+                executor.execute(() -> run(job.getVideoId()));
+            } catch (TaskRejectedException e) {
+                running.remove(job.getVideoId());
+                release(job.getVideoId());
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${video.jobs.renew-interval-millis:30000}")
+    public void renewLeases() {
+        if (running.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                videoJobRepository.renewLeases(nodeId, Set.copyOf(running), leaseExpiry(new Date())));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${video.jobs.reap-interval-millis:30000}")
+    public void requeueExpired() {
+        Map<Integer, String> failures = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Date now = new Date();
+            for (VideoJob job : videoJobRepository.lockExpired(now)) {
+                boolean exhausted = job.getAttempts() >= maxAttempts;
+                videoRepository.compareAndSetStatus(job.getVideoId(), VideoStatus.PROCESSING,
+                        exhausted ? VideoStatus.FAILED : VideoStatus.PENDING, now);
+
+                job.setStatus(exhausted ? VideoJobStatus.FAILED : VideoJobStatus.QUEUED);
+                job.setLastError("租约过期, 节点: " + job.getLeaseOwner());
+                job.setLeaseOwner(null);
+                job.setLeaseExpiresAt(null);
+                job.setAvailableAt(new Date(now.getTime() + job.getAttempts() * retryBackoffSeconds * 1000L));
+                job.setUpdatedAt(now);
+                // compareAndSetStatus会清空持久化上下文，这里通过merge写回
+                videoJobRepository.save(job);
+                log.warn("视频 {} 的处理任务租约过期, 已尝试 {} 次, {}", job.getVideoId(), job.getAttempts(),
+                        exhausted ? "标记为失败" : "重新入队");
+                failures.put(job.getVideoId(), exhausted ? VideoProgressEvent.FAILED : VideoProgressEvent.RETRYING);
+            }
+        });
+        failures.forEach(this::publishFailure);
+    }
+
+    private int priorityOf(Video video) {
+        UserRole role = video.getUser() != null ? video.getUser().getRole() : null;
+        return role == UserRole.COACH || role == UserRole.ADMIN ? COACH_PRIORITY : 0;
+    }
+
+    private void run(Integer videoId) {
+        try {
+            videoProcessingService.process(videoId);
+        } finally {
+            running.remove(videoId);
+            complete(videoId);
+        }
+    }
+
+    /**
+     * 根据视频的最终状态结束任务，失败且未用完尝试次数时重新入队；租约已被回收时不做修改
+     * 失败时在事务提交后发布retrying或failed事件，只有最后一次失败会结束进度订阅
+     */
+    private void complete(Integer videoId) {
+        String failedStage = transactionTemplate.execute(status ->
+                videoJobRepository.findById(videoId)
+                        .filter(job -> job.getStatus() == VideoJobStatus.RUNNING && nodeId.equals(job.getLeaseOwner()))
+                        .map(job -> {
+                            Date now = new Date();
+                            VideoStatus videoStatus = videoRepository.findById(videoId)
+                                    .map(Video::getStatus).orElse(null);
+                            boolean failed = videoStatus == VideoStatus.FAILED;
+                            // 处理失败且还有剩余次数时按退避时长重新入队，视频回到PENDING等待再次处理
+                            boolean retry = failed && job.getAttempts() < maxAttempts
+                                    && videoRepository.compareAndSetStatus(videoId, VideoStatus.FAILED,
+                                    VideoStatus.PENDING, now) > 0;
+
+                            job.setStatus(retry ? VideoJobStatus.QUEUED
+                                    : failed ? VideoJobStatus.FAILED : VideoJobStatus.DONE);
+                            job.setLastError(failed ? "视频处理失败" : null);
+                            job.setLeaseOwner(null);
+                            job.setLeaseExpiresAt(null);
+                            if (retry) {
+                                job.setAvailableAt(new Date(now.getTime() + job.getAttempts() * retryBackoffSeconds * 1000L));
+                            }
+                            job.setUpdatedAt(now);
+                            // compareAndSetStatus会清空持久化上下文，这里通过merge写回
+                            videoJobRepository.save(job);
+                            if (retry) {
+                                log.warn("视频 {} 处理失败, 已尝试 {} 次, {}秒后重试", videoId, job.getAttempts(),
+                                        job.getAttempts() * retryBackoffSeconds);
+                                return VideoProgressEvent.RETRYING;
+                            }
+                            return failed ? VideoProgressEvent.FAILED : null;
+                        })
+                        .orElse(null));
+        publishFailure(videoId, failedStage);
+    }
+
+    private void publishFailure(Integer videoId, String stage) {
+        if (stage == null) {
+            return;
+        }
+        try {
+            videoProgressService.publish(videoId, stage, null,
+                    VideoProgressEvent.RETRYING.equals(stage) ? VideoStatus.PENDING : VideoStatus.FAILED);
+        } catch (Exception e) {
+            log.debug("发布视频 {} 的进度失败", videoId, e);
+        }
+    }
+
+    /**
+     * 线程池拒绝执行时归还任务，不计入尝试次数
+     */
+    private void release(Integer videoId) {
+        transactionTemplate.executeWithoutResult(status ->
+                videoJobRepository.findById(videoId).ifPresent(job -> {
+                    job.setStatus(VideoJobStatus.QUEUED);
+                    job.setAttempts(job.getAttempts() - 1);
+                    job.setLeaseOwner(null);
+                    job.setLeaseExpiresAt(null);
+                    job.setUpdatedAt(new Date());
+                    videoJobRepository.save(job);
+                }));
+    }
+
+    private Date leaseExpiry(Date now) {
+        return new Date(now.getTime() + leaseSeconds * 1000L);
+    }
+}
@@ -0,0 +1,65 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.dto.VideoProbeResult;
+import com.misuzu.service.VideoProbeService;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 视频探测服务实现类
+ * 只调用grabber.start()读取容器头和流参数，不调用grab系列方法，耗时为毫秒级
+ */
+@Slf4j
+@Service
+public class VideoProbeServiceImpl implements VideoProbeService {
+
+    /**
+     * 流信息分析读取的最大字节数
+     */
+    @Value("${video.probe.probesize:5000000}")
+    private long probeSize;
+
+    /**
+     * 流信息分析的最大媒体时长（微秒）
+     */
+    @Value("${video.probe.analyze-duration:1000000}")
+    private long analyzeDuration;
+
+    @Override
+    public VideoProbeResult probe(Path videoPath) throws IOException {
+        long start = System.nanoTime();
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(videoPath.toFile())) {
+            // 限制avformat_find_stream_info的读取量，MP4/MOV的参数都在moov头中，无需多读
+            grabber.setOption("probesize", String.valueOf(probeSize));
+            grabber.setOption("analyzeduration", String.valueOf(analyzeDuration));
+            grabber.start();
+
+            long bitRate = grabber.getFormatContext().bit_rate();
+            if (bitRate <= 0) {
+                bitRate = grabber.getVideoBitrate();
+            }
+
+            VideoProbeResult result = VideoProbeResult.builder()
+                    .format(grabber.getFormat())
+                    .durationMillis(Math.max(grabber.getLengthInTime(), 0) / 1000)
+                    .frameRate(grabber.getFrameRate())
+                    .width(grabber.getImageWidth())
+                    .height(grabber.getImageHeight())
+                    .videoCodec(grabber.getVideoCodecName())
+                    .audioCodec(grabber.getAudioChannels() > 0 ? grabber.getAudioCodecName() : null)
+                    .bitRate(bitRate)
+                    .probeMillis((System.nanoTime() - start) / 1_000_000)
+                    .build();
+            grabber.stop();
+
+            log.debug("视频探测完成: {}, {}x{}@{}fps, {}, {}ms", videoPath, result.getWidth(), result.getHeight(),
+                    result.getFrameRate(), result.getVideoCodec(), result.getProbeMillis());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.misuzu.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.misuzu.dto.ThumbnailResult;
+import com.misuzu.dto.TrajectoryAnalysis;
+import com.misuzu.dto.VideoProgressEvent;
+import com.misuzu.dto.VideoProbeResult;
+import com.misuzu.entity.Video;
+import com.misuzu.entity.VideoStatus;
+import com.misuzu.repository.VideoRepository;
+import com.misuzu.service.HeatmapService;
+import com.misuzu.service.ReportCacheService;
+import com.misuzu.service.HlsTranscodeService;
+import com.misuzu.service.ThumbnailService;
+import com.misuzu.service.TrajectoryService;
+import com.misuzu.service.VideoProbeService;
+import com.misuzu.service.VideoProcessingService;
+import com.misuzu.service.VideoProgressService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StopWatch;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+
+/**
+ * 视频后台处理服务实现类
+ * 依次执行各处理阶段，并记录每个阶段的耗时；线程池和任务领取由VideoJobService负责
+ */
+@Slf4j
+@Service
+public class VideoProcessingServiceImpl implements VideoProcessingService {
+
+    private final VideoRepository videoRepository;
+    private final VideoProbeService videoProbeService;
+    private final ThumbnailService thumbnailService;
+    private final TrajectoryService trajectoryService;
+    private final HlsTranscodeService hlsTranscodeService;
+    private final HeatmapService heatmapService;
+    private final ReportCacheService reportCacheService;
+    private final VideoProgressService videoProgressService;
+    private final ObjectMapper objectMapper;
+
+    public VideoProcessingServiceImpl(VideoRepository videoRepository,
+                                      VideoProbeService videoProbeService,
+                                      ThumbnailService thumbnailService,
+                                      TrajectoryService trajectoryService,
+                                      HlsTranscodeService hlsTranscodeService,
+                                      HeatmapService heatmapService,
+                                      ReportCacheService reportCacheService,
+                                      VideoProgressService videoProgressService,
+                                      ObjectMapper objectMapper) {
+        this.videoRepository = videoRepository;
+        this.videoProbeService = videoProbeService;
+        this.thumbnailService = thumbnailService;
+        this.trajectoryService = trajectoryService;
+        this.hlsTranscodeService = hlsTranscodeService;
+        this.heatmapService = heatmapService;
+        this.reportCacheService = reportCacheService;
+        this.videoProgressService = videoProgressService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void process(Integer videoId) {
+        // 抢占视频，已被其他线程处理或状态不是PENDING时直接跳过
+        if (videoRepository.compareAndSetStatus(videoId, VideoStatus.PENDING, VideoStatus.PROCESSING, new Date()) == 0) {
+            log.debug("视频 {} 不处于PENDING状态，跳过处理", videoId);
+            return;
+        }
+        Video video = videoRepository.findById(videoId).orElse(null);
+        if (video == null) {
+            return;
+        }
+
+        Path videoPath = Paths.get(video.getFileUrl());
+        StopWatch watch = new StopWatch("video-" + videoId);
+        try {
+            watch.start("probe");
+            publish(videoId, VideoProgressEvent.PROBE, null, VideoStatus.PROCESSING);
+            applyProbe(video, videoProbeService.probe(videoPath));
+            watch.stop();
+
+            watch.start("thumbnail");
+            publish(videoId, VideoProgressEvent.THUMBNAIL, null, VideoStatus.PROCESSING);
+            ThumbnailResult thumbnails = thumbnailService.generate(videoId, videoPath);
+            video.setThumbnailUrl(thumbnails.getThumbnailUrl());
+            video.setSpriteUrl(thumbnails.getSpriteUrl());
+            watch.stop();
+
+            watch.start("trajectory");
+            publish(videoId, VideoProgressEvent.DECODE, 0, VideoStatus.PROCESSING);
+            TrajectoryAnalysis trajectory = trajectoryService.analyse(videoId, videoPath,
+                    percent -> publish(videoId, VideoProgressEvent.DECODE, percent, VideoStatus.PROCESSING));
+            publish(videoId, VideoProgressEvent.TRAJECTORY, null, VideoStatus.PROCESSING);
+            video.setTrajectoryUrl(trajectory.getTrajectoryUrl());
+            video.setStaticIntervals(objectMapper.writeValueAsString(trajectory.getStaticIntervals()));
+            watch.stop();
+            log.debug("视频 {} 静止跳过 {}/{} 帧", videoId, trajectory.getSkippedFrames(), trajectory.getFrameCount());
+
+            video.setStatus(VideoStatus.COMPLETED);
+            video.setUpdatedAt(new Date());
+            videoRepository.save(video);
+            log.info("视频处理完成: {}, 总耗时: {}ms, 各阶段: {}",
+                    videoId, watch.getTotalTimeMillis(), formatStages(watch));
+
+            // 热力图只是派生统计，累加失败不影响视频的完成状态
+            try {
+                heatmapService.recordVideo(video);
+            } catch (Exception e) {
+                log.warn("视频 {} 计入热力图失败", videoId, e);
+            }
+            // 训练数据已变化，之前缓存的大模型报告不再适用
+            reportCacheService.invalidateAll();
+            publish(videoId, VideoProgressEvent.DONE, null, VideoStatus.COMPLETED);
+
+            // 转码在独立线程池中进行，不占用分析线程，也不影响视频的完成状态
+            if (hlsTranscodeService.isEnabled()) {
+                hlsTranscodeService.submit(videoId, video.getContentHash(), videoPath);
+            }
+        } catch (Exception e) {
+            if (watch.isRunning()) {
+                watch.stop();
+            }
+            log.error("视频处理失败: {}, 已完成阶段: {}", videoId, formatStages(watch), e);
+            video.setStatus(VideoStatus.FAILED);
+            video.setUpdatedAt(new Date());
+            videoRepository.save(video);
+            // 是否重试由VideoJobService决定，最终的failed或retrying事件由它发布
+        }
+    }
+
+    /**
+     * 发布进度事件，订阅方的异常不影响处理流程
+     */
+    private void publish(Integer videoId, String stage, Integer percent, VideoStatus status) {
+        try {
+            videoProgressService.publish(videoId, stage, percent, status);
+        } catch (Exception e) {
+            log.debug("发布视频 {} 的进度失败", videoId, e);
+        }
+    }
+
+    private String formatStages(StopWatch watch) {
+        StringBuilder sb = new StringBuilder();
+        for (StopWatch.TaskInfo task : watch.getTaskInfo()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(task.getTaskName()).append('=').append(task.getTimeMillis()).append("ms");
+        }
+        return sb.toString();
+    }
+
+    private void applyProbe(Video video, VideoProbeResult probe) {
+        // duration沿用秒为单位，向上取整
+        video.setDuration((int) ((probe.getDurationMillis() + 999) / 1000));
+        video.setFrameRate(probe.getFrameRate());
+        video.setWidth(probe.getWidth());
+        video.setHeight(probe.getHeight());
+        video.setVideoCodec(probe.getVideoCodec());
+        video.setBitRate(probe.getBitRate());
+    }
+}
@@ -0,0 +1,160 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.dto.VideoProgressEvent;
+import com.misuzu.entity.Video;
+import com.misuzu.entity.VideoStatus;
+import com.misuzu.exception.BusinessException;
+import com.misuzu.repository.VideoRepository;
+import com.misuzu.service.VideoProgressService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 视频处理进度服务实现类
+ * 每个有订阅者的视频对应一个多播通道，每个订阅者有独立的有界缓冲区，
+ * 客户端消费过慢时丢弃最旧的事件，不会阻塞处理线程
+ */
+@Slf4j
+@Service
+public class VideoProgressServiceImpl implements VideoProgressService {
+
+    private final VideoRepository videoRepository;
+    private final Map<Integer, Channel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * 每个订阅者的事件缓冲区大小
+     */
+    @Value("${video.progress.buffer-size:32}")
+    private int bufferSize;
+
+    /**
+     * 兜底检查视频状态的间隔，视频在其他节点处理时靠它发现处理结束
+     */
+    @Value("${video.progress.fallback-check-seconds:30}")
+    private long fallbackCheckSeconds;
+
+    public VideoProgressServiceImpl(VideoRepository videoRepository) {
+        this.videoRepository = videoRepository;
+    }
+
+    @Override
+    public void publish(Integer videoId, String stage, Integer percent, VideoStatus status) {
+        Channel channel = channels.get(videoId);
+        if (channel == null) {
+            return;
+        }
+        VideoProgressEvent event = VideoProgressEvent.builder()
+                .videoId(videoId)
+                .stage(stage)
+                .percent(percent)
+                .status(status)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        // 轨迹分析的分段线程会并发上报进度，directBestEffort不允许并发发射，按通道串行化
+        synchronized (channel) {
+            VideoProgressEvent last = channel.last;
+            if (last != null && last.isTerminal()) {
+                return;
+            }
+            // 同一阶段的进度只前进不后退，晚到的旧进度直接丢弃
+            if (last != null && stage.equals(last.getStage()) && percent != null
+                    && last.getPercent() != null && percent <= last.getPercent()) {
+                return;
+            }
+            channel.last = event;
+            Sinks.EmitResult result = channel.sink.tryEmitNext(event);
+            if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                log.warn("视频 {} 的进度事件 {} 发送失败: {}", videoId, stage, result);
+            }
+            if (event.isTerminal()) {
+                channels.remove(videoId, channel);
+                channel.sink.tryEmitComplete();
+            }
+        }
+    }
+
+    @Override
+    public Flux<VideoProgressEvent> subscribe(Integer videoId) {
+        Video video = videoRepository.findById(videoId)
+                .orElseThrow(() -> new BusinessException("视频不存在", HttpStatus.NOT_FOUND));
+        VideoProgressEvent current = snapshot(video);
+        if (current.isTerminal()) {
+            return Flux.just(current);
+        }
+
+        // 订阅时才加入通道，客户端未真正订阅时不占用通道
+        return Flux.defer(() -> {
+            Channel channel = channels.compute(videoId, (id, existing) -> {
+                Channel joined = existing != null ? existing : new Channel();
+                joined.subscribers++;
+                return joined;
+            });
+            VideoProgressEvent initial = channel.last != null ? channel.last : current;
+
+            Flux<VideoProgressEvent> live = channel.sink.asFlux()
+                    .onBackpressureBuffer(bufferSize, dropped -> log.debug("视频 {} 的进度订阅者过慢，丢弃事件", videoId),
+                            BufferOverflowStrategy.DROP_OLDEST);
+            // 读取视频状态与加入通道之间处理可能已结束，兜底检查同时覆盖这种情况
+            Flux<VideoProgressEvent> fallback = Flux.interval(Duration.ofSeconds(fallbackCheckSeconds))
+                    .flatMap(i -> Mono.fromCallable(() -> videoRepository.findById(videoId).map(this::snapshot).orElse(null))
+                            .subscribeOn(Schedulers.boundedElastic()))
+                    .filter(VideoProgressEvent::isTerminal);
+
+            return Flux.merge(live, fallback)
+                    .startWith(initial)
+                    .takeUntil(VideoProgressEvent::isTerminal)
+                    .doFinally(signal -> release(videoId, channel));
+        });
+    }
+
+    /**
+     * 订阅结束后，最后一个订阅者离开时移除通道
+     */
+    private void release(Integer videoId, Channel channel) {
+        channels.computeIfPresent(videoId, (id, existing) -> {
+            if (existing != channel) {
+                return existing;
+            }
+            return --existing.subscribers > 0 ? existing : null;
+        });
+    }
+
+    private VideoProgressEvent snapshot(Video video) {
+        String stage = switch (video.getStatus()) {
+            case COMPLETED -> VideoProgressEvent.DONE;
+            case FAILED -> VideoProgressEvent.FAILED;
+            case PROCESSING -> VideoProgressEvent.PROBE;
+            default -> VideoProgressEvent.QUEUED;
+        };
+        return VideoProgressEvent.builder()
+                .videoId(video.getId())
+                .stage(stage)
+                .status(video.getStatus())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * 单个视频的多播通道
+     */
+    private static final class Channel {
+
+        /**
+         * directBestEffort不为慢订阅者缓存，缓冲由每个订阅者自己的onBackpressureBuffer负责
+         */
+        private final Sinks.Many<VideoProgressEvent> sink = Sinks.many().multicast().directBestEffort();
+        private volatile VideoProgressEvent last;
+        private int subscribers;
+    }
+}
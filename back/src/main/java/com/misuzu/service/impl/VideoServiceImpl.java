@@ -1,21 +1,65 @@
 package com.misuzu.service.impl;
 
+import com.misuzu.dto.BatchUploadItem;
+import com.misuzu.dto.BatchUploadResult;
+import com.misuzu.dto.StoredFileInfo;
+import com.misuzu.dto.VideoIngestResult;
+import com.misuzu.dto.VideoListQuery;
+import com.misuzu.dto.VideoPage;
+import com.misuzu.dto.VideoSummary;
 import com.misuzu.dto.VideoUploadDTO;
 import com.misuzu.entity.Video;
 import com.misuzu.entity.User;
 import com.misuzu.entity.VideoStatus;
+import com.misuzu.exception.BusinessException;
 import com.misuzu.repository.UserRepository;
 import com.misuzu.repository.VideoRepository;
+import com.misuzu.service.HeatmapService;
+import com.misuzu.service.ReportCacheService;
+import com.misuzu.service.VideoJobService;
 import com.misuzu.service.VideoService;
+import com.misuzu.service.VideoStorageService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -24,44 +68,45 @@ public class VideoServiceImpl implements VideoService {
 
     private final VideoRepository videoRepository;
     private final UserRepository userRepository;
+    private final VideoStorageService videoStorageService;
+    private final VideoJobService videoJobService;
+    private final HeatmapService heatmapService;
+    private final ReportCacheService reportCacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
 
-    @Value("${file.storage.location}")
-    private String storagePath;
+    @Value("${file.storage.stream-max-size}")
+    private DataSize streamMaxSize;
 
-    @Value("${file.thumbnail.location}")
-    private String thumbnailPath;
+    /**
+     * 单次批量上传的最大文件数
+     */
+    @Value("${file.upload.batch-max-files:50}")
+    private int batchMaxFiles;
+
+    @Value("${video.list.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${video.list.max-page-size:100}")
+    private int maxPageSize;
 
     @Override
     @Transactional
     public Video processVideoUpload(VideoUploadDTO dto) {
         try {
             // 1. 保存视频文件
-            Path videoFilePath = saveFile(dto.getFile(), storagePath);
-
-            // 2. 生成缩略图
-            String thumbnailUrl = generateThumbnail(videoFilePath);
+            StoredFileInfo stored = videoStorageService.store(dto.getFile());
 
-            // 3. 获取用户信息
+            // 2. 获取用户信息
 //            User user = userRepository.findById(dto.getUserId())
 //                    .orElseThrow(() -> new VideoProcessingException("用户不存在"));
 
             User user = userRepository.findById(dto.getUserId())
                     .orElseThrow(() -> new RuntimeException("用户不存在"));
 
-            // 4. 构建并保存视频记录
-            return videoRepository.save(Video.builder()
-                    .user(user)
-                    .title(dto.getTitle())
-                    .description(dto.getDescription())
-                    .fileUrl(videoFilePath.toString())
-                    .thumbnailUrl(thumbnailUrl)
-                    .duration(extractDuration(videoFilePath))
-                    .fileSize((int) dto.getFile().getSize())
-                    .videoType(dto.getFile().getContentType())
-                    .status(VideoStatus.PENDING)
-                    .createdAt(new Date())
-                    .updatedAt(new Date())
-                    .build());
+            // 3. 保存视频记录，相同内容已分析过时直接复用结果，否则交由后台处理
+            return saveVideo(user, dto.getTitle(), dto.getDescription(), dto.getTrainingType(), stored,
+                    dto.getFile().getContentType());
 
         } catch (IOException e) {
             log.error("视频处理失败", e);
@@ -69,26 +114,478 @@ public class VideoServiceImpl implements VideoService {
         }
     }
 
-    private Path saveFile(MultipartFile file, String directory) throws IOException {
-        Path dirPath = Paths.get(directory);
-        if (!Files.exists(dirPath)) {
-            Files.createDirectories(dirPath);
+    @Override
+    public VideoIngestResult processStreamingUpload(HttpServletRequest request) {
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new BusinessException("请求必须为multipart/form-data格式");
+        }
+
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setHeaderCharset(StandardCharsets.UTF_8);
+        upload.setFileSizeMax(streamMaxSize.toBytes());
+
+        Map<String, String> fields = new HashMap<>();
+        StoredFileInfo stored = null;
+        String contentType = null;
+
+        try {
+            // 按到达顺序逐个读取part，文件part直接写入最终位置
+            FileItemInputIterator iterator = upload.getItemIterator(request);
+            while (iterator.hasNext()) {
+                FileItemInput item = iterator.next();
+                if (item.isFormField()) {
+                    try (InputStream in = item.getInputStream()) {
+                        fields.put(item.getFieldName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                    }
+                } else if ("file".equals(item.getFieldName()) && stored == null) {
+                    contentType = item.getContentType();
+                    if (contentType == null || !VideoUploadDTO.ALLOWED_CONTENT_TYPES.contains(contentType)) {
+                        throw new BusinessException("仅支持MP4/AVI/MOV格式");
+                    }
+                    try (InputStream in = item.getInputStream();
+                         ReadableByteChannel channel = Channels.newChannel(in)) {
+                        stored = videoStorageService.store(channel, item.getName(), streamMaxSize.toBytes());
+                    }
+                }
+            }
+        } catch (FileUploadSizeException e) {
+            // 单个文件（FileUploadByteCountLimitException）或整个请求超过大小限制
+            deleteQuietly(stored);
+            throw new BusinessException("视频文件超过大小限制", HttpStatus.PAYLOAD_TOO_LARGE);
+        } catch (IOException e) {
+            deleteQuietly(stored);
+            log.error("流式上传失败", e);
+            throw new BusinessException("视频上传失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        if (stored == null) {
+            throw new BusinessException("视频文件不能为空");
+        }
+
+        try {
+            String title = fields.get("title");
+            if (!StringUtils.hasText(title)) {
+                throw new BusinessException("视频标题不能为空");
+            }
+            Video video = createVideo(parseUserId(fields.get("userId")), title, fields.get("description"),
+                    fields.get("trainingType"), stored, contentType);
+
+            return VideoIngestResult.builder()
+                    .video(video)
+                    .bytesWritten(stored.getSize())
+                    .bytesPerSecond(stored.getBytesPerSecond())
+                    .timeToDurableMillis(stored.getTimeToDurableMillis())
+                    .duplicate(stored.isDuplicate())
+                    .build();
+        } catch (RuntimeException e) {
+            deleteQuietly(stored);
+            if (e instanceof BusinessException be) {
+                throw be;
+            }
+            log.error("视频记录保存失败", e);
+            throw new BusinessException("视频上传失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public BatchUploadResult processBatchUpload(HttpServletRequest request) {
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new BusinessException("请求必须为multipart/form-data格式");
+        }
+
+        // 不设置setFileSizeMax：超限时fileupload会关闭整个请求流，后续文件都无法读取；
+        // 单个文件的大小由store()限制，超限的文件标记为413后继续读取下一个
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setHeaderCharset(StandardCharsets.UTF_8);
+
+        Map<String, String> fields = new HashMap<>();
+        List<BatchUploadItem> items = new ArrayList<>();
+        List<BatchUploadItem> storedItems = new ArrayList<>();
+        List<StoredFileInfo> storedFiles = new ArrayList<>();
+        List<String> contentTypes = new ArrayList<>();
+        BatchUploadItem current = null;
+
+        try {
+            // 逐个读取part，每个文件到达时直接写入存储，不在内存或临时目录中积累
+            FileItemInputIterator iterator = upload.getItemIterator(request);
+            while (iterator.hasNext()) {
+                FileItemInput item = iterator.next();
+                if (item.isFormField()) {
+                    try (InputStream in = item.getInputStream()) {
+                        fields.put(item.getFieldName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                    }
+                    continue;
+                }
+                if (!"files".equals(item.getFieldName())) {
+                    continue;
+                }
+
+                BatchUploadItem result = BatchUploadItem.builder().fileName(item.getName()).build();
+                items.add(result);
+                current = result;
+                String contentType = item.getContentType();
+                if (storedFiles.size() >= batchMaxFiles) {
+                    fail(result, "超过单次上传的文件数上限: " + batchMaxFiles, HttpStatus.BAD_REQUEST);
+                } else if (contentType == null || !VideoUploadDTO.ALLOWED_CONTENT_TYPES.contains(contentType)) {
+                    fail(result, "仅支持MP4/AVI/MOV格式", HttpStatus.BAD_REQUEST);
+                } else {
+                    // 关闭part的输入流时会跳过该文件未读完的部分，超限后仍能继续读取下一个part
+                    try (InputStream in = item.getInputStream();
+                         ReadableByteChannel channel = Channels.newChannel(in)) {
+                        StoredFileInfo stored = videoStorageService.store(channel, item.getName(),
+                                streamMaxSize.toBytes());
+                        storedItems.add(result);
+                        storedFiles.add(stored);
+                        contentTypes.add(contentType);
+                        result.setBytesWritten(stored.getSize());
+                        result.setDuplicate(stored.isDuplicate());
+                    } catch (BusinessException e) {
+                        fail(result, e.getMessage(), e.getStatus());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // 请求流已中断，之前完整写入的文件照常登记，只有正在写入的文件标记为失败
+            log.error("批量上传中断, 已接收 {} 个文件", storedFiles.size(), e);
+            if (current != null && current.getError() == null
+                    && (storedItems.isEmpty() || storedItems.get(storedItems.size() - 1) != current)) {
+                fail(current, "上传中断: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        if (!storedFiles.isEmpty()) {
+            User user;
+            try {
+                Integer userId = parseUserId(fields.get("userId"));
+                user = userRepository.findById(userId)
+                        .orElseThrow(() -> new BusinessException("用户不存在", HttpStatus.NOT_FOUND));
+            } catch (BusinessException e) {
+                storedFiles.forEach(this::deleteQuietly);
+                throw e;
+            }
+
+            List<Video> videos;
+            try {
+                videos = transactionTemplate.execute(status -> saveVideos(user, fields.get("description"),
+                        fields.get("trainingType"), storedItems, storedFiles, contentTypes));
+            } catch (RuntimeException e) {
+                storedFiles.forEach(this::deleteQuietly);
+                log.error("批量保存视频记录失败", e);
+                throw new BusinessException("视频上传失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+
+            // 视频记录与已写入的文件按顺序一一对应
+            for (int i = 0; i < videos.size(); i++) {
+                storedItems.get(i).setVideoId(videos.get(i).getId());
+                storedItems.get(i).setStatus(videos.get(i).getStatus());
+            }
+        }
+
+        int created = (int) items.stream().filter(item -> item.getVideoId() != null).count();
+        log.info("批量上传完成: 文件 {} 个, 成功 {} 个", items.size(), created);
+        return BatchUploadResult.builder()
+                .created(created)
+                .failed(items.size() - created)
+                .items(items)
+                .build();
+    }
+
+    private void fail(BatchUploadItem item, String error, HttpStatus status) {
+        item.setError(error);
+        item.setCode(status.value());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VideoPage listVideos(VideoListQuery query) {
+        int limit = query.getLimit() == null ? defaultPageSize : query.getLimit();
+        if (limit <= 0 || limit > maxPageSize) {
+            throw new BusinessException("每页条数需在1到" + maxPageSize + "之间");
+        }
+        if (query.getFrom() != null && query.getTo() != null && query.getFrom().isAfter(query.getTo())) {
+            throw new BusinessException("起始日期不能晚于截止日期");
         }
 
-        String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-        Path filePath = dirPath.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-        return filePath;
+        Date cursorTime = null;
+        Integer cursorId = null;
+        if (StringUtils.hasText(query.getCursor())) {
+            long[] cursor = decodeCursor(query.getCursor());
+            cursorTime = new Date(cursor[0]);
+            cursorId = (int) cursor[1];
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        Date from = query.getFrom() != null ? Date.from(query.getFrom().atStartOfDay(zone).toInstant()) : null;
+        // 截止日期包含当天，查询条件为小于次日零点
+        Date to = query.getTo() != null ? Date.from(query.getTo().plusDays(1).atStartOfDay(zone).toInstant()) : null;
+        String trainingType = StringUtils.hasText(query.getTrainingType()) ? query.getTrainingType().trim() : null;
+
+        // 多取一行判断是否还有下一页
+        List<VideoSummary> rows = videoRepository.findPage(query.getUserId(), query.getStatus(), trainingType,
+                from, to, cursorTime, cursorId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<VideoSummary> items = hasMore ? rows.subList(0, limit) : rows;
+        VideoSummary last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return VideoPage.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encodeCursor(last.getCreatedAt().getTime(), last.getId()) : null)
+                .build();
     }
 
-    private String generateThumbnail(Path videoPath) throws IOException {
-        // 实现缩略图生成逻辑（需集成FFmpeg）
-        // 返回缩略图路径
-        return "path/to/thumbnail.jpg";
+    /**
+     * 游标为"上传时间毫秒数:视频ID"的URL安全Base64编码，对客户端不透明
+     */
+    private String encodeCursor(long createdAt, int id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + ":" + id).getBytes(StandardCharsets.UTF_8));
     }
 
-    private int extractDuration(Path videoPath) {
-        // 实现视频时长提取逻辑
-        return 120; // 示例值
+    private long[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 2) {
+                throw new BusinessException("分页游标无效");
+            }
+            return new long[]{Long.parseLong(parts[0]), Integer.parseInt(parts[1])};
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("分页游标无效");
+        }
+    }
+
+    /**
+     * 批量插入视频记录并入队处理，需在事务中调用
+     * 内容引用已在写入存储时登记；相同内容已分析完成的视频直接复用结果，与saveVideo的逻辑一致
+     */
+    private List<Video> saveVideos(User user, String description, String trainingType,
+                                   List<BatchUploadItem> storedItems, List<StoredFileInfo> storedFiles,
+                                   List<String> contentTypes) {
+        Set<String> hashes = storedFiles.stream().map(StoredFileInfo::getSha256)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, Video> analysed = hashes.isEmpty() ? Map.of() : videoRepository
+                .findByContentHashInAndStatus(hashes, VideoStatus.COMPLETED).stream()
+                .collect(Collectors.toMap(Video::getContentHash, video -> video,
+                        (a, b) -> a.getId() < b.getId() ? a : b));
+
+        List<Video> videos = new ArrayList<>(storedFiles.size());
+        for (int i = 0; i < storedFiles.size(); i++) {
+            StoredFileInfo stored = storedFiles.get(i);
+            Video video = buildVideo(user, titleOf(storedItems.get(i).getFileName()), description, trainingType,
+                    stored, contentTypes.get(i));
+            Video source = stored.getSha256() != null ? analysed.get(stored.getSha256()) : null;
+            if (source != null) {
+                copyAnalysis(source, video);
+            }
+            videos.add(video);
+        }
+        insertVideos(videos);
+
+        List<Video> pending = new ArrayList<>();
+        for (Video video : videos) {
+            if (video.getStatus() == VideoStatus.COMPLETED) {
+                heatmapService.recordVideo(video);
+            } else {
+                pending.add(video);
+            }
+        }
+        if (pending.size() < videos.size()) {
+            reportCacheService.invalidateAll();
+        }
+        videoJobService.enqueueAll(pending);
+        return videos;
+    }
+
+    /**
+     * 使用一次JDBC批量插入写入视频记录，并回填自增ID
+     */
+    private void insertVideos(List<Video> videos) {
+        String sql = "INSERT INTO videos (user_id, title, description, training_type, file_url, thumbnail_url, "
+                + "sprite_url, hls_url, trajectory_url, static_intervals, duration, frame_rate, width, height, "
+                + "video_codec, bit_rate, file_size, content_hash, video_type, status, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Video video : videos) {
+                    ps.setInt(1, video.getUser().getId());
+                    ps.setString(2, video.getTitle());
+                    ps.setString(3, video.getDescription());
+                    ps.setString(4, video.getTrainingType());
+                    ps.setString(5, video.getFileUrl());
+                    ps.setString(6, video.getThumbnailUrl());
+                    ps.setString(7, video.getSpriteUrl());
+                    ps.setString(8, video.getHlsUrl());
+                    ps.setString(9, video.getTrajectoryUrl());
+                    ps.setString(10, video.getStaticIntervals());
+                    ps.setObject(11, video.getDuration(), Types.INTEGER);
+                    ps.setObject(12, video.getFrameRate(), Types.DOUBLE);
+                    ps.setObject(13, video.getWidth(), Types.INTEGER);
+                    ps.setObject(14, video.getHeight(), Types.INTEGER);
+                    ps.setString(15, video.getVideoCodec());
+                    ps.setObject(16, video.getBitRate(), Types.BIGINT);
+                    ps.setLong(17, video.getFileSize());
+                    ps.setString(18, video.getContentHash());
+                    ps.setString(19, video.getVideoType());
+                    ps.setString(20, video.getStatus().name());
+                    ps.setTimestamp(21, new Timestamp(video.getCreatedAt().getTime()));
+                    ps.setTimestamp(22, new Timestamp(video.getUpdatedAt().getTime()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Video video : videos) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("批量插入未返回全部视频ID");
+                        }
+                        video.setId(keys.getInt(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 批量上传时以去掉扩展名的文件名作为标题
+     */
+    private String titleOf(String fileName) {
+        String name = StringUtils.hasText(fileName) ? Paths.get(fileName).getFileName().toString() : "未命名视频";
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    @Override
+    public Video createVideo(Integer userId, String title, String description, String trainingType,
+                             StoredFileInfo stored, String contentType) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new BusinessException("用户不存在", HttpStatus.NOT_FOUND));
+        return transactionTemplate.execute(status ->
+                saveVideo(user, title, description, trainingType, stored, contentType));
+    }
+
+    @Override
+    public void deleteVideo(Integer videoId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Video video = videoRepository.findById(videoId)
+                    .orElseThrow(() -> new BusinessException("视频不存在", HttpStatus.NOT_FOUND));
+            videoRepository.delete(video);
+            if (video.getContentHash() != null) {
+                videoStorageService.release(video.getContentHash());
+            }
+            // 查询前会先刷新删除语句，只统计其余视频的引用
+            if (video.getTrajectoryUrl() != null && !videoRepository.existsByTrajectoryUrl(video.getTrajectoryUrl())) {
+                deleteAfterCommit(Paths.get(video.getTrajectoryUrl()));
+            }
+        });
+    }
+
+    /**
+     * 事务提交后删除视频的派生文件
+     */
+    private void deleteAfterCommit(Path file) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("删除派生文件失败: {}", file, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 保存视频记录，需在事务中调用
+     * 内容引用已在写入存储时登记，由视频记录接管
+     */
+    private Video saveVideo(User user, String title, String description, String trainingType,
+                            StoredFileInfo stored, String contentType) {
+        Video video = buildVideo(user, title, description, trainingType, stored, contentType);
+        if (stored.getSha256() == null) {
+            video = videoRepository.save(video);
+            videoJobService.enqueue(video);
+            return video;
+        }
+
+        Video analysed = videoRepository
+                .findFirstByContentHashAndStatusOrderByIdAsc(stored.getSha256(), VideoStatus.COMPLETED)
+                .orElse(null);
+        if (analysed != null) {
+            copyAnalysis(analysed, video);
+            video = videoRepository.save(video);
+            // 复用结果的视频不会经过后台处理，在此计入热力图，与视频记录在同一事务中提交
+            heatmapService.recordVideo(video);
+            reportCacheService.invalidateAll();
+            log.info("视频内容已存在，复用视频 {} 的分析结果: {}", analysed.getId(), video.getId());
+            return video;
+        }
+
+        video = videoRepository.save(video);
+        videoJobService.enqueue(video);
+        return video;
+    }
+
+    /**
+     * 复制已完成视频的处理结果，新视频直接进入COMPLETED状态
+     */
+    private void copyAnalysis(Video source, Video target) {
+        target.setThumbnailUrl(source.getThumbnailUrl());
+        target.setSpriteUrl(source.getSpriteUrl());
+        target.setHlsUrl(source.getHlsUrl());
+        target.setTrajectoryUrl(source.getTrajectoryUrl());
+        target.setStaticIntervals(source.getStaticIntervals());
+        target.setDuration(source.getDuration());
+        target.setFrameRate(source.getFrameRate());
+        target.setWidth(source.getWidth());
+        target.setHeight(source.getHeight());
+        target.setVideoCodec(source.getVideoCodec());
+        target.setBitRate(source.getBitRate());
+        target.setStatus(VideoStatus.COMPLETED);
+    }
+
+    private Video buildVideo(User user, String title, String description, String trainingType,
+                             StoredFileInfo stored, String contentType) {
+        return Video.builder()
+                .user(user)
+                .title(title)
+                .description(description)
+                .trainingType(StringUtils.hasText(trainingType) ? trainingType.trim() : null)
+                .fileUrl(stored.getPath().toString())
+                .fileSize(stored.getSize())
+                .contentHash(stored.getSha256())
+                .videoType(contentType)
+                .status(VideoStatus.PENDING)
+                .createdAt(new Date())
+                .updatedAt(new Date())
+                .build();
+    }
+
+    private Integer parseUserId(String value) {
+        if (!StringUtils.hasText(value)) {
+            throw new BusinessException("用户ID不能为空");
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BusinessException("用户ID格式错误");
+        }
+    }
+
+    /**
+     * 视频记录未能保存时释放写入存储时登记的内容引用，其他视频仍在引用时不会删除文件
+     */
+    private void deleteQuietly(StoredFileInfo stored) {
+        if (stored == null) {
+            return;
+        }
+        try {
+            if (stored.getSha256() != null) {
+                videoStorageService.release(stored.getSha256());
+            } else {
+                Files.deleteIfExists(stored.getPath());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("清理上传文件失败: {}", stored.getPath(), e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,328 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.dto.StoredFileInfo;
+import com.misuzu.exception.BusinessException;
+import com.misuzu.repository.VideoBlobRepository;
+import com.misuzu.service.VideoStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 视频文件存储服务实现类
+ * 使用FileChannel写入并同步计算SHA-256，落盘后按内容哈希原子重命名，相同内容只保存一份。
+ * 判断内容是否已存在、移动文件以及引用归零后删除文件，都在持有video_blobs对应行锁时进行，
+ * 避免一方刚判定为重复内容、另一方释放最后一个引用后删除文件。
+ */
+@Slf4j
+@Service
+public class VideoStorageServiceImpl implements VideoStorageService {
+
+    /**
+     * 每次transferFrom的最大字节数
+     */
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    private static final int DIGEST_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * 写入中的临时文件目录
+     */
+    private static final String INCOMING_DIR = "incoming";
+
+    /**
+     * 按内容哈希存放的文件目录
+     */
+    private static final String BLOB_DIR = "sha256";
+
+    @Value("${file.storage.location}")
+    private String storagePath;
+
+    private final VideoBlobRepository videoBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 引用归零后删除文件在原事务提交之后进行，需要独立的新事务
+     */
+    private final TransactionTemplate purgeTransactionTemplate;
+
+    public VideoStorageServiceImpl(VideoBlobRepository videoBlobRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.videoBlobRepository = videoBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgeTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgeTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public StoredFileInfo store(ReadableByteChannel source, String originalFilename, long maxBytes) throws IOException {
+        Path target = newIncomingPath();
+        long start = System.nanoTime();
+        long written = 0;
+        long transferEnd;
+        boolean completed = false;
+        MessageDigest digest = newDigest();
+
+        try {
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ReadableByteChannel in = new DigestingChannel(source, digest);
+                // 源通道读到末尾时transferFrom返回0
+                long transferred;
+                while ((transferred = out.transferFrom(in, written, TRANSFER_CHUNK_SIZE)) > 0) {
+                    written += transferred;
+                    if (maxBytes > 0 && written > maxBytes) {
+                        throw new BusinessException("视频文件超过大小限制", HttpStatus.PAYLOAD_TOO_LARGE);
+                    }
+                }
+                transferEnd = System.nanoTime();
+
+                // 确保数据真正写入磁盘后才返回
+                out.force(true);
+            }
+
+            StoredFileInfo info = promote(target, written, HexFormat.of().formatHex(digest.digest()));
+            long durableEnd = System.nanoTime();
+            completed = true;
+
+            info.setTransferMillis((transferEnd - start) / 1_000_000);
+            info.setTimeToDurableMillis((durableEnd - start) / 1_000_000);
+            log.info("视频写入完成: {}, 大小: {} 字节, 速率: {} 字节/秒, 持久化耗时: {}ms, 重复内容: {}",
+                    info.getPath(), written, info.getBytesPerSecond(), info.getTimeToDurableMillis(),
+                    info.isDuplicate());
+            return info;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+
+    @Override
+    public StoredFileInfo store(MultipartFile file) throws IOException {
+        Path target = newIncomingPath();
+        long start = System.nanoTime();
+
+        // 容器已将文件缓存在磁盘时，transferTo会直接移动临时文件
+        file.transferTo(target.toAbsolutePath().toFile());
+        long transferEnd = System.nanoTime();
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        StoredFileInfo info = commit(target);
+        long durableEnd = System.nanoTime();
+
+        info.setTransferMillis((transferEnd - start) / 1_000_000);
+        info.setTimeToDurableMillis((durableEnd - start) / 1_000_000);
+        return info;
+    }
+
+    @Override
+    public StoredFileInfo commit(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        long size;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = in.size();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+            while (in.read(buffer) > 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return promote(file, size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    @Override
+    public Path allocate(String uploadId, long size) throws IOException {
+        Path dirPath = Paths.get(storagePath, INCOMING_DIR);
+        Files.createDirectories(dirPath);
+        // 以上传会话ID命名，不同会话即使同时创建、文件名相同也不会共用文件
+        Path target = dirPath.resolve(uploadId + ".part");
+        Files.createFile(target);
+        // setLength在多数文件系统上生成稀疏文件，不会实际写入数据
+        try (RandomAccessFile file = new RandomAccessFile(target.toFile(), "rw")) {
+            file.setLength(size);
+        }
+        return target;
+    }
+
+    @Override
+    public long writeAt(Path target, ReadableByteChannel source, long position, long count) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            long written = 0;
+            long transferred;
+            while (written < count
+                    && (transferred = out.transferFrom(source, position + written, count - written)) > 0) {
+                written += transferred;
+            }
+            out.force(false);
+            return written;
+        }
+    }
+
+    /**
+     * 生成写入中的临时文件路径，与内容目录位于同一文件系统，便于原子重命名
+     */
+    private Path newIncomingPath() throws IOException {
+        Path dirPath = Paths.get(storagePath, INCOMING_DIR);
+        Files.createDirectories(dirPath);
+        return dirPath.resolve(UUID.randomUUID() + ".part");
+    }
+
+    @Override
+    public void release(String sha256) {
+        transactionTemplate.executeWithoutResult(status ->
+                videoBlobRepository.findByIdForUpdate(sha256).ifPresent(blob -> {
+                    blob.setRefCount(blob.getRefCount() - 1);
+                    videoBlobRepository.save(blob);
+                    if (blob.getRefCount() > 0) {
+                        return;
+                    }
+                    // 记录保留到文件删除时，删除前在新事务中重新加锁确认没有新的引用
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            purge(sha256);
+                        }
+                    });
+                }));
+    }
+
+    /**
+     * 引用数仍为0时删除内容文件及记录
+     */
+    private void purge(String sha256) {
+        purgeTransactionTemplate.executeWithoutResult(status -> videoBlobRepository.findByIdForUpdate(sha256)
+                .filter(blob -> blob.getRefCount() <= 0)
+                .ifPresent(blob -> {
+                    Path file = Paths.get(blob.getFilePath());
+                    try {
+                        Files.deleteIfExists(file);
+                        // 早期版本在内容文件旁生成的轨迹文件
+                        Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".traj"));
+                    } catch (IOException e) {
+                        // 残留文件内容与哈希一致，之后相同内容上传时会直接复用
+                        log.warn("删除视频文件失败: {}", file, e);
+                    }
+                    videoBlobRepository.delete(blob);
+                }));
+    }
+
+    /**
+     * 将已落盘文件按内容哈希重命名到内容目录，内容已存在时删除本次文件
+     * 先以INSERT ... ON DUPLICATE KEY UPDATE登记引用并锁住内容记录，再判断文件是否已存在，
+     * 与release的删除互斥；文件移动失败时事务回滚，引用随之撤销。
+     *
+     * @param file 已落盘文件
+     * @param size 文件大小
+     * @param sha256 内容哈希
+     * @return 内容目录中的文件信息，已持有一个引用
+     */
+    private StoredFileInfo promote(Path file, long size, String sha256) throws IOException {
+        Path blobDir = Paths.get(storagePath, BLOB_DIR, sha256.substring(0, 2));
+        Files.createDirectories(blobDir);
+        Path blobPath = blobDir.resolve(sha256);
+
+        try {
+            return transactionTemplate.execute(status -> {
+                videoBlobRepository.acquire(sha256, blobPath.toString(), size, new Date());
+                try {
+                    boolean duplicate = Files.exists(blobPath);
+                    if (!duplicate) {
+                        try {
+                            Files.move(file, blobPath, StandardCopyOption.ATOMIC_MOVE);
+                        } catch (FileAlreadyExistsException e) {
+                            // 引用记录回滚后残留的文件，内容与哈希一致
+                            duplicate = true;
+                        }
+                    }
+                    if (duplicate) {
+                        Files.deleteIfExists(file);
+                    }
+                    return StoredFileInfo.builder()
+                            .path(blobPath)
+                            .size(size)
+                            .sha256(sha256)
+                            .duplicate(duplicate)
+                            .build();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+
+    /**
+     * 读取时同步计算摘要的通道
+     * transferFrom对非文件通道会逐块调用read，因此每个字节都会经过摘要计算
+     */
+    private static final class DigestingChannel implements ReadableByteChannel {
+
+        private final ReadableByteChannel delegate;
+        private final MessageDigest digest;
+
+        private DigestingChannel(ReadableByteChannel delegate, MessageDigest digest) {
+            this.delegate = delegate;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int position = dst.position();
+            int read = delegate.read(dst);
+            if (read > 0) {
+                ByteBuffer view = dst.duplicate();
+                view.limit(position + read);
+                view.position(position);
+                digest.update(view);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // 源通道由调用方关闭
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.misuzu.service.impl;
+
+import com.misuzu.entity.Video;
+import com.misuzu.exception.BusinessException;
+import com.misuzu.repository.VideoRepository;
+import com.misuzu.service.VideoStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 视频播放服务实现类
+ * Tomcat支持sendfile时由容器直接从文件发送到socket，否则使用FileChannel.transferTo，
+ * 两种方式都不会把文件读入堆内存
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VideoStreamServiceImpl implements VideoStreamService {
+
+    /**
+     * Tomcat sendfile相关的请求属性，参见org.apache.tomcat.util.net.Constants
+     */
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final VideoRepository videoRepository;
+
+    @Override
+    public void stream(Integer videoId, HttpServletRequest request, HttpServletResponse response) {
+        Video video = videoRepository.findById(videoId)
+                .orElseThrow(() -> new BusinessException("视频不存在", HttpStatus.NOT_FOUND));
+        Path file = Paths.get(video.getFileUrl());
+        if (!Files.isReadable(file)) {
+            throw new BusinessException("视频文件不存在", HttpStatus.NOT_FOUND);
+        }
+
+        long length;
+        long lastModified;
+        try {
+            length = Files.size(file);
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new BusinessException("读取视频文件失败: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        // 文件按内容哈希存放，哈希本身就是强校验的ETag
+        String etag = video.getContentHash() != null
+                ? "\"" + video.getContentHash() + "\""
+                : "\"" + length + "-" + lastModified + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(video.getVideoType() != null
+                ? video.getVideoType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && length > 0 && ifRangeMatches(request, etag, lastModified)) {
+            long[] range = resolveRange(rangeHeader, length);
+            if (range == null) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            start = range[0];
+            end = range[1];
+            partial = true;
+        }
+
+        long count = end - start + 1;
+        if (partial) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        } else {
+            response.setStatus(HttpStatus.OK.value());
+        }
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // 响应体交给Tomcat通过sendfile发送，这里不写任何数据
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        } catch (IOException e) {
+            // 拖动进度条时客户端频繁中断连接，属于正常情况
+            log.debug("视频 {} 传输中断: {}", videoId, e.getMessage());
+        }
+    }
+
+    /**
+     * If-Range只有与当前ETag或最后修改时间完全一致时才按Range返回，否则返回完整文件
+     */
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date >= 0 && date / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 解析Range请求头，多个区间合并为一个覆盖区间
+     *
+     * @return [起始, 结束]（均包含），无法满足时返回null
+     */
+    private long[] resolveRange(String rangeHeader, long length) {
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        long start = Long.MAX_VALUE;
+        long end = -1;
+        for (HttpRange range : ranges) {
+            long rangeStart = range.getRangeStart(length);
+            if (rangeStart >= length) {
+                continue;
+            }
+            start = Math.min(start, rangeStart);
+            end = Math.max(end, Math.min(range.getRangeEnd(length), length - 1));
+        }
+        return end >= start ? new long[]{start, end} : null;
+    }
+}
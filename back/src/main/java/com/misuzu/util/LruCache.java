@@ -0,0 +1,60 @@
+package com.misuzu.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 容量有限的线程安全LRU缓存
+ * 超过容量时淘汰最久未访问的条目，适合放在数据库或远程调用前缓存热点数据
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class LruCache<K, V> {
+
+    private final int capacity;
+    private final LinkedHashMap<K, V> entries;
+
+    public LruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于0");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * 读取缓存，命中时刷新访问顺序
+     *
+     * @param key 键
+     * @return 缓存值，未命中返回null
+     */
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,170 @@
+package com.misuzu.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.misuzu.model.dto.ReportModelResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 报告JSON增量解析器
+ * 大模型流式返回时，文本片段逐个送入Jackson的非阻塞解析器，顶层字符串字段和sections中的每个章节
+ * 一旦完整即回调，不必等待整个JSON结束。根对象之前的说明文字、代码块标记会被跳过，根对象结束后的内容忽略。
+ * 非线程安全，每次生成使用独立实例。
+ */
+public class ReportJsonStreamParser {
+
+    private static final String SECTIONS = "sections";
+
+    /**
+     * 解析结果回调
+     */
+    public interface Listener {
+
+        /**
+         * 顶层字符串字段（title、summary、conclusion、suggestions等）解析完成
+         */
+        void onField(String name, String value);
+
+        /**
+         * sections中的一个章节解析完成
+         *
+         * @param index 章节序号，从0开始
+         * @param section 章节
+         */
+        void onSection(int index, ReportModelResponse.Section section);
+    }
+
+    private final Listener listener;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    /**
+     * 上一段末尾被拆开的代理对高位，与下一段合并后再编码
+     */
+    private String pendingSurrogate = "";
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private String field;
+    private boolean inSections;
+    private int sectionCount;
+    private String sectionField;
+    private ReportModelResponse.Section section;
+
+    public ReportJsonStreamParser(Listener listener) {
+        this.listener = listener;
+        try {
+            this.parser = new JsonFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("创建JSON解析器失败", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * 送入一段新到达的文本
+     *
+     * @param chunk 文本片段
+     * @throws IOException 内容不是合法JSON
+     */
+    public void feed(String chunk) throws IOException {
+        if (finished || chunk.isEmpty()) {
+            return;
+        }
+        chunk = pendingSurrogate + chunk;
+        pendingSurrogate = "";
+        // 片段在代理对中间断开时，单独编码高位会得到'?'，留到下一段再处理
+        if (Character.isHighSurrogate(chunk.charAt(chunk.length() - 1))) {
+            pendingSurrogate = chunk.substring(chunk.length() - 1);
+            chunk = chunk.substring(0, chunk.length() - 1);
+            if (chunk.isEmpty()) {
+                return;
+            }
+        }
+        if (!started) {
+            // 跳过根对象之前的说明文字和```json标记
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            chunk = chunk.substring(start);
+            started = true;
+        }
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    /**
+     * 根对象是否已完整解析
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!finished && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE) {
+            if (token == null) {
+                finished = true;
+                return;
+            }
+            switch (token) {
+                case START_OBJECT -> {
+                    depth++;
+                    if (inSections && depth == 3) {
+                        section = ReportModelResponse.Section.builder().title("").content("").build();
+                    }
+                }
+                case END_OBJECT -> {
+                    if (inSections && depth == 3 && section != null) {
+                        listener.onSection(sectionCount++, section);
+                        section = null;
+                    }
+                    depth--;
+                    if (depth == 0) {
+                        finished = true;
+                        feeder.endOfInput();
+                    }
+                }
+                case START_ARRAY -> {
+                    depth++;
+                    if (depth == 2 && SECTIONS.equals(field)) {
+                        inSections = true;
+                    }
+                }
+                case END_ARRAY -> {
+                    if (inSections && depth == 2) {
+                        inSections = false;
+                    }
+                    depth--;
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) {
+                        field = parser.currentName();
+                    } else if (inSections && depth == 3) {
+                        sectionField = parser.currentName();
+                    }
+                }
+                case VALUE_STRING -> {
+                    if (depth == 1) {
+                        listener.onField(field, parser.getText());
+                    } else if (inSections && depth == 3 && section != null) {
+                        if ("title".equals(sectionField)) {
+                            section.setTitle(parser.getText());
+                        } else if ("content".equals(sectionField)) {
+                            section.setContent(parser.getText());
+                        }
+                    }
+                }
+                default -> {
+                    // 数字、布尔等其他值不属于报告内容
+                }
+            }
+        }
+    }
+}
@@ -36,4 +36,134 @@ WHERE NOT EXISTS (
     SELECT 1 FROM users WHERE username = 'coach_zhang'
 );
 
--- 注意：完整数据库结构请使用web.sql脚本手动导入 
\ No newline at end of file
+-- 注意：完整数据库结构请使用web.sql脚本手动导入 
+
+-- 视频文件大小改为BIGINT，支持超过2GB的比赛录像
+ALTER TABLE videos MODIFY COLUMN file_size BIGINT NOT NULL DEFAULT 0;
+
+-- 分片上传会话表（断点续传）
+CREATE TABLE IF NOT EXISTS upload_sessions (
+    upload_id VARCHAR(36) PRIMARY KEY,
+    user_id INTEGER NOT NULL,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    original_filename VARCHAR(255),
+    content_type VARCHAR(100),
+    total_size BIGINT NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    file_path VARCHAR(512),
+    received_chunks LONGBLOB,
+    video_id INTEGER,
+    status VARCHAR(20) NOT NULL,  -- UPLOADING, FINALIZING, COMPLETED, ABORTED
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 视频拖动预览雪碧图
+ALTER TABLE videos ADD COLUMN sprite_url VARCHAR(255);
+
+-- 视频流参数（容器头探测）
+ALTER TABLE videos
+    ADD COLUMN frame_rate DOUBLE,
+    ADD COLUMN width INTEGER,
+    ADD COLUMN height INTEGER,
+    ADD COLUMN video_codec VARCHAR(50),
+    ADD COLUMN bit_rate BIGINT;
+
+-- 按内容SHA-256去重的视频文件，多个视频共享同一文件
+CREATE TABLE IF NOT EXISTS video_blobs (
+    sha256 CHAR(64) PRIMARY KEY,
+    file_path VARCHAR(512) NOT NULL,
+    size BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE videos ADD COLUMN content_hash CHAR(64);
+CREATE INDEX idx_videos_content_hash ON videos (content_hash, status);
+
+-- HLS主播放列表
+ALTER TABLE videos ADD COLUMN hls_url VARCHAR(255);
+
+-- 球轨迹文件
+ALTER TABLE videos ADD COLUMN trajectory_url VARCHAR(512);
+
+-- 训练类型
+ALTER TABLE videos ADD COLUMN training_type VARCHAR(50);
+ALTER TABLE upload_sessions ADD COLUMN training_type VARCHAR(50);
+
+-- 落点热力图（按用户、训练类型增量累加）
+CREATE TABLE IF NOT EXISTS heatmaps (
+    heatmap_id INTEGER PRIMARY KEY AUTO_INCREMENT,
+    user_id INTEGER NOT NULL,
+    training_type VARCHAR(50) NOT NULL,  -- ALL表示全部视频
+    grid_columns INTEGER NOT NULL,
+    grid_rows INTEGER NOT NULL,
+    counts LONGBLOB NOT NULL,
+    total BIGINT NOT NULL DEFAULT 0,
+    video_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_heatmaps_user_type (user_id, training_type)
+);
+
+-- 静止画面跳过检测的时间区间（JSON）
+ALTER TABLE videos ADD COLUMN static_intervals TEXT;
+
+-- 视频处理任务队列，多个节点通过SELECT ... FOR UPDATE SKIP LOCKED领取
+CREATE TABLE IF NOT EXISTS video_jobs (
+    video_id INTEGER PRIMARY KEY,
+    priority INTEGER NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,  -- QUEUED, RUNNING, DONE, FAILED
+    attempts INTEGER NOT NULL DEFAULT 0,
+    lease_owner VARCHAR(255),
+    lease_expires_at TIMESTAMP NULL,
+    available_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_video_jobs_queue (status, priority, created_at),
+    INDEX idx_video_jobs_lease (status, lease_expires_at),
+    FOREIGN KEY (video_id) REFERENCES videos(video_id) ON DELETE CASCADE
+);
+
+-- 视频列表查询（按用户、按状态，均按上传时间倒序）
+CREATE INDEX idx_videos_user_created ON videos (user_id, created_at);
+CREATE INDEX idx_videos_status_created ON videos (status, created_at);
+
+-- 训练分析报告，章节按顺序存放在report_sections
+CREATE TABLE IF NOT EXISTS reports (
+    report_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255),
+    summary TEXT,
+    conclusion TEXT,
+    suggestions TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS report_sections (
+    report_id BIGINT NOT NULL,
+    position INTEGER NOT NULL,
+    title VARCHAR(255),
+    content TEXT,
+    PRIMARY KEY (report_id, position),
+    FOREIGN KEY (report_id) REFERENCES reports(report_id) ON DELETE CASCADE
+);
+
+-- 分片上传：进行中的分片写入数，完成上传前需等待归零；按状态和更新时间清理已放弃的会话
+ALTER TABLE upload_sessions ADD COLUMN inflight_writes INTEGER NOT NULL DEFAULT 0;
+CREATE INDEX idx_upload_sessions_status_updated ON upload_sessions (status, updated_at);
+
+-- 已计入热力图的视频，视频重新处理时据此跳过累加
+CREATE TABLE IF NOT EXISTS heatmap_videos (
+    video_id INTEGER PRIMARY KEY,
+    recorded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (video_id) REFERENCES videos(video_id) ON DELETE CASCADE
+);
+
+-- 视频列表只按时间过滤或不带条件时的游标分页，(created_at, video_id)与排序和游标条件一致
+CREATE INDEX idx_videos_created ON videos (created_at, video_id);
+
+-- 报告及章节标题由大模型生成，长度可能超过255
+ALTER TABLE reports MODIFY COLUMN title TEXT;
+ALTER TABLE report_sections MODIFY COLUMN title TEXT;
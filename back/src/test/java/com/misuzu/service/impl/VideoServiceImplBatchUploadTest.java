@@ -0,0 +1,157 @@
+package com.misuzu.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.misuzu.dto.BatchUploadResult;
+import com.misuzu.dto.StoredFileInfo;
+import com.misuzu.entity.User;
+import com.misuzu.entity.Video;
+import com.misuzu.entity.VideoStatus;
+import com.misuzu.exception.BusinessException;
+import com.misuzu.repository.UserRepository;
+import com.misuzu.repository.VideoRepository;
+import com.misuzu.service.HeatmapService;
+import com.misuzu.service.ReportCacheService;
+import com.misuzu.service.VideoJobService;
+import com.misuzu.service.VideoStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量上传的逐文件结果
+ * 单个文件超过大小限制时只有该文件失败（413），之后的文件照常读取和登记
+ */
+class VideoServiceImplBatchUploadTest {
+
+    private static final String BOUNDARY = "batch-boundary";
+    private static final int MAX_BYTES = 1024;
+
+    private final VideoStorageService videoStorageService = mock(VideoStorageService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private VideoServiceImpl videoService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        videoService = new VideoServiceImpl(mock(VideoRepository.class), userRepository, videoStorageService,
+                mock(VideoJobService.class), mock(HeatmapService.class), mock(ReportCacheService.class),
+                transactionTemplate, mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(videoService, "streamMaxSize", DataSize.ofBytes(MAX_BYTES));
+        ReflectionTestUtils.setField(videoService, "batchMaxFiles", 50);
+
+        // 与VideoStorageServiceImpl.store一致：边读边计数，超过maxBytes时抛出413，不读完剩余内容
+        when(videoStorageService.store(any(ReadableByteChannel.class), anyString(), anyLong())).thenAnswer(call -> {
+            ReadableByteChannel channel = call.getArgument(0);
+            long maxBytes = call.getArgument(2);
+            ByteBuffer buffer = ByteBuffer.allocate(256);
+            long written = 0;
+            int read;
+            while ((read = channel.read(buffer)) >= 0) {
+                written += read;
+                buffer.clear();
+                if (written > maxBytes) {
+                    throw new BusinessException("视频文件超过大小限制", HttpStatus.PAYLOAD_TOO_LARGE);
+                }
+            }
+            return StoredFileInfo.builder().path(Path.of("uploads", call.getArgument(1))).size(written).build();
+        });
+
+        User user = new User();
+        user.setId(1);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(transactionTemplate.execute(any())).thenReturn(List.of(
+                Video.builder().id(11).status(VideoStatus.PENDING).build(),
+                Video.builder().id(12).status(VideoStatus.PENDING).build()));
+    }
+
+    @Test
+    void oversizedFileFailsAloneWith413() throws Exception {
+        BatchUploadResult result = videoService.processBatchUpload(multipart(
+                file("a.mp4", 100), file("big.mp4", MAX_BYTES * 4), file("c.mp4", 200)));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getItems().size());
+
+        assertEquals(11, result.getItems().get(0).getVideoId());
+        assertEquals(100, result.getItems().get(0).getBytesWritten());
+        assertNull(result.getItems().get(0).getCode());
+
+        assertNull(result.getItems().get(1).getVideoId());
+        assertEquals(413, result.getItems().get(1).getCode());
+        assertEquals("视频文件超过大小限制", result.getItems().get(1).getError());
+
+        // 超限文件之后的文件仍被读取并登记
+        assertEquals(12, result.getItems().get(2).getVideoId());
+        assertEquals(200, result.getItems().get(2).getBytesWritten());
+    }
+
+    @Test
+    void resultSerialisesPerItemCodeAndError() throws Exception {
+        BatchUploadResult result = videoService.processBatchUpload(multipart(
+                file("a.mp4", 100), file("big.mp4", MAX_BYTES + 1), file("c.mp4", 10)));
+
+        JsonNode json = new ObjectMapper().valueToTree(result);
+        assertEquals(2, json.get("created").asInt());
+        assertEquals(1, json.get("failed").asInt());
+        JsonNode failed = json.get("items").get(1);
+        assertEquals("big.mp4", failed.get("fileName").asText());
+        assertEquals(413, failed.get("code").asInt());
+        assertTrue(failed.get("videoId").isNull());
+        assertEquals("PENDING", json.get("items").get(2).get("status").asText());
+    }
+
+    private static byte[][] file(String name, int size) {
+        String header = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"files\"; filename=\"" + name + "\"\r\n"
+                + "Content-Type: video/mp4\r\n\r\n";
+        byte[] body = new byte[size];
+        for (int i = 0; i < size; i++) {
+            body[i] = (byte) ('a' + i % 26);
+        }
+        return new byte[][]{header.getBytes(StandardCharsets.UTF_8), body, "\r\n".getBytes(StandardCharsets.UTF_8)};
+    }
+
+    private static MockHttpServletRequest multipart(byte[][]... files) throws Exception {
+        List<byte[]> parts = new ArrayList<>();
+        parts.add(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"userId\"\r\n\r\n1\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        for (byte[][] file : files) {
+            parts.addAll(List.of(file));
+        }
+        parts.add(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            body.write(part);
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/videos/upload/batch");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body.toByteArray());
+        return request;
+    }
+}
@@ -0,0 +1,107 @@
+package com.misuzu.util;
+
+import com.misuzu.model.dto.ReportModelResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 报告JSON增量解析器测试
+ * 片段可能在字符串、字段名、转义序列及多字节字符的任意位置断开，结果应与一次送入完全相同
+ */
+class ReportJsonStreamParserTest {
+
+    private static final String REPORT = "{\"title\":\"正手攻球训练报告🏓\",\"summary\":\"本周\\\"稳定性\\\"提升\\n明显\","
+            + "\"score\":87,\"sections\":[{\"title\":\"技术分析\",\"content\":\"击球点靠前😀\"},"
+            + "{\"content\":\"步法移动及时\",\"title\":\"步法\"}],\"conclusion\":\"继续保持\"}";
+
+    private static final List<String> EXPECTED = List.of(
+            "field:title=正手攻球训练报告🏓",
+            "field:summary=本周\"稳定性\"提升\n明显",
+            "section:0:技术分析|击球点靠前😀",
+            "section:1:步法|步法移动及时",
+            "field:conclusion=继续保持");
+
+    @Test
+    void wholeDocumentInOneChunk() throws IOException {
+        assertEquals(EXPECTED, parse(List.of(REPORT)));
+    }
+
+    @Test
+    void everyCharacterAsItsOwnChunk() throws IOException {
+        // 每个边界都落在字符串、字段名或转义序列内部，表情符号的代理对也被拆开
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < REPORT.length(); i++) {
+            chunks.add(REPORT.substring(i, i + 1));
+        }
+        assertEquals(EXPECTED, parse(chunks));
+    }
+
+    @Test
+    void everySplitPointIntoTwoChunks() throws IOException {
+        for (int i = 1; i < REPORT.length(); i++) {
+            assertEquals(EXPECTED, parse(List.of(REPORT.substring(0, i), REPORT.substring(i))), "split at " + i);
+        }
+    }
+
+    @Test
+    void surrogatePairSplitAcrossChunks() throws IOException {
+        int emoji = REPORT.indexOf("🏓");
+        List<String> chunks = List.of(REPORT.substring(0, emoji + 1), REPORT.substring(emoji + 1));
+        assertTrue(Character.isHighSurrogate(chunks.get(0).charAt(chunks.get(0).length() - 1)));
+        assertEquals(EXPECTED, parse(chunks));
+    }
+
+    @Test
+    void fencedCodePreambleAndTrailerAreSkipped() throws IOException {
+        List<String> chunks = List.of("好的，以下是", "生成的报告：\n``", "`json\n", REPORT.substring(0, 40),
+                REPORT.substring(40), "\n```\n", "如需调整请告诉我。{\"title\":\"忽略\"}");
+        List<String> events = new ArrayList<>();
+        ReportJsonStreamParser parser = newParser(events);
+        for (String chunk : chunks) {
+            parser.feed(chunk);
+        }
+        assertTrue(parser.isFinished());
+        assertEquals(EXPECTED, events);
+    }
+
+    @Test
+    void sectionIsReportedBeforeDocumentEnds() throws IOException {
+        List<String> events = new ArrayList<>();
+        ReportJsonStreamParser parser = newParser(events);
+        int firstSectionEnd = REPORT.indexOf('}') + 1;
+        parser.feed(REPORT.substring(0, firstSectionEnd));
+        assertEquals(EXPECTED.subList(0, 3), events);
+        assertFalse(parser.isFinished());
+    }
+
+    private static List<String> parse(List<String> chunks) throws IOException {
+        List<String> events = new ArrayList<>();
+        ReportJsonStreamParser parser = newParser(events);
+        for (String chunk : chunks) {
+            parser.feed(chunk);
+        }
+        assertTrue(parser.isFinished());
+        return events;
+    }
+
+    private static ReportJsonStreamParser newParser(List<String> events) {
+        return new ReportJsonStreamParser(new ReportJsonStreamParser.Listener() {
+            @Override
+            public void onField(String name, String value) {
+                events.add("field:" + name + "=" + value);
+            }
+
+            @Override
+            public void onSection(int index, ReportModelResponse.Section section) {
+                events.add("section:" + index + ":" + section.getTitle() + "|" + section.getContent());
+            }
+        });
+    }
+}